@@ -0,0 +1,67 @@
+-- Compares the text based users layout with the compact uuid/bitset layout.
+-- Run against a scratch Postgres 13+ database:
+--   psql -d scratch -f benchmark/compact-storage.sql
+-- Reports table and index sizes, then timings for primary key and role lookups on both layouts.
+
+\set rows 1000000
+\timing off
+
+DROP TABLE IF EXISTS bench_users_text;
+DROP TABLE IF EXISTS bench_users_compact;
+
+CREATE TABLE bench_users_text (
+    id         VARCHAR(255) PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    roles      VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+INSERT INTO bench_users_text
+SELECT gen_random_uuid()::text,
+       'user' || n || '@example.com',
+       'user' || n,
+       'First' || n,
+       'Last' || n,
+       CASE n % 3 WHEN 0 THEN 'CAR_ENTHUSIAST' WHEN 1 THEN 'MECHANIC' ELSE 'MECHANIC,CAR_ENTHUSIAST' END,
+       now() - (n || ' seconds')::interval
+FROM generate_series(1, :rows) AS n;
+
+CREATE TABLE bench_users_compact (LIKE bench_users_text INCLUDING ALL);
+ALTER TABLE bench_users_compact ALTER COLUMN id TYPE UUID USING id::uuid;
+ALTER TABLE bench_users_compact ALTER COLUMN roles TYPE INTEGER USING 0;
+INSERT INTO bench_users_compact
+SELECT id::uuid, email, username, first_name, last_name,
+       (CASE WHEN roles LIKE '%CAR_ENTHUSIAST%' THEN 1 ELSE 0 END) | (CASE WHEN roles LIKE '%MECHANIC%' THEN 2 ELSE 0 END),
+       created_at
+FROM bench_users_text;
+
+CREATE INDEX bench_users_text_roles_idx ON bench_users_text (roles);
+CREATE INDEX bench_users_compact_roles_idx ON bench_users_compact (roles);
+
+VACUUM ANALYZE bench_users_text;
+VACUUM ANALYZE bench_users_compact;
+
+-- Sizes
+SELECT c.relname AS relation,
+       pg_size_pretty(pg_relation_size(c.oid)) AS size
+FROM pg_class c
+WHERE c.relname LIKE 'bench_users_%'
+ORDER BY c.relname;
+
+-- Lookup speed: 10,000 primary key probes on each layout
+SELECT id AS probe_id INTO TEMP bench_probes FROM bench_users_text ORDER BY random() LIMIT 10000;
+
+\timing on
+SELECT count(*) FROM bench_probes p JOIN bench_users_text u ON u.id = p.probe_id;
+SELECT count(*) FROM bench_probes p JOIN bench_users_compact u ON u.id = p.probe_id::uuid;
+
+-- Role filter on each layout
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM bench_users_text WHERE roles LIKE '%MECHANIC%';
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM bench_users_compact WHERE (roles & 2) <> 0;
+\timing off
+
+DROP TABLE bench_users_text;
+DROP TABLE bench_users_compact;
@@ -0,0 +1,14 @@
+package org.example.business;
+
+import org.example.business.dto.userDTO.UserResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveUserService {
+    Flux<UserResponseDto> getAllUsers(String roleFilter);
+    Mono<UserResponseDto> getUser(String userId);
+    // Found users in no particular order; unknown ids are left out
+    Flux<UserResponseDto> getUsers(Collection<String> userIds);
+}
@@ -1,14 +1,26 @@
 package org.example.business;
 
+import org.example.business.dto.userDTO.UserAvailabilityResponseDto;
 import org.example.business.dto.userDTO.UserRequestDto;
 import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.dto.userDTO.UserStatsResponseDto;
+import org.example.persistance.UserField;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface UserService {
     UserResponseDto registerUser(UserRequestDto requestDto);
     List<UserResponseDto> getAllUsers(String roleFilter);
+    List<Map<String, Object>> getAllUsers(String roleFilter, Set<UserField> fields);
+    List<UserResponseDto> searchUsers(String query, int limit);
+    UserAvailabilityResponseDto checkAvailability(String email, String username);
+    UserStatsResponseDto getStatistics(int days);
     @Transactional
     void deleteAccount(String userId);
+    // Removes a user that no longer exists in Keycloak, without asking Keycloak to delete it
+    @Transactional
+    boolean deleteLocalUser(String userId);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package org.example.business.dto.userDTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserAvailabilityResponseDto {
+    private String email;
+    private Boolean emailAvailable;
+    private String username;
+    private Boolean usernameAvailable;
+}
@@ -3,6 +3,7 @@ package org.example.business.dto.userDTO;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.example.business.validation.KnownRoles;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -34,5 +35,6 @@ public class UserRequestDto {
     private String username;
 
     @NotBlank(message = "Roles are required")
+    @KnownRoles
     private String roles;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.example.business.dto.userDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsResponseDto {
+    private long totalUsers;
+    private Map<String, Long> usersByRole;
+    private Map<String, Long> signupsByDay;
+    private LocalDateTime reconciledAt;
+}
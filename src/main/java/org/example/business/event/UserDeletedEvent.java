@@ -0,0 +1,14 @@
+package org.example.business.event;
+
+import lombok.Value;
+import org.example.business.dto.userDTO.UserResponseDto;
+
+/**
+ * Published when an account is deleted; listeners run after the deletion commits.
+ * {@code user} is the account as it was just before the deletion.
+ */
+@Value
+public class UserDeletedEvent {
+    String userId;
+    UserResponseDto user;
+}
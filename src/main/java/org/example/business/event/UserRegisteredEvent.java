@@ -0,0 +1,14 @@
+package org.example.business.event;
+
+import lombok.Value;
+import org.example.business.dto.userDTO.UserResponseDto;
+
+/**
+ * Published once a registration or profile update is committed.
+ * {@code previous} is the user as it was before an update, or null for a new user.
+ */
+@Value
+public class UserRegisteredEvent {
+    UserResponseDto user;
+    UserResponseDto previous;
+}
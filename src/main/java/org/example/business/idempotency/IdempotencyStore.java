@@ -0,0 +1,66 @@
+package org.example.business.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory record of already handled requests and messages.
+ * Entries expire after the configured TTL; when the store is full the oldest entry is evicted.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${user-service.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${user-service.idempotency.ttl-ms:600000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized boolean contains(String key) {
+        return lookup(key) != null;
+    }
+
+    public synchronized <T> Optional<T> get(String key, Class<T> type) {
+        Entry entry = lookup(key);
+        if (entry == null || !type.isInstance(entry.value)) {
+            return Optional.empty();
+        }
+        return Optional.of(type.cast(entry.value));
+    }
+
+    public synchronized void put(String key, Object value) {
+        // Re-inserting moves the key to the young end of the eviction order
+        entries.remove(key);
+        entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.business.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A response kept for replay, together with a hash of the request it answered, so a key that is
+ * reused for a different request can be told apart from a retry.
+ */
+public record StoredResponse(String requestHash, Object response) {
+
+    public boolean answers(String requestHash) {
+        return this.requestHash.equals(requestHash);
+    }
+
+    public <T> T response(Class<T> type) {
+        return type.cast(response);
+    }
+
+    // SHA-256 over the parts' string forms; the separator keeps ("ab", "c") apart from ("a", "bc")
+    public static String hash(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
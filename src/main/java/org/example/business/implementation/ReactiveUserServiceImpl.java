@@ -0,0 +1,48 @@
+package org.example.business.implementation;
+
+import lombok.AllArgsConstructor;
+import org.example.business.ReactiveUserService;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.persistance.ReactiveUserRepository;
+import org.example.persistance.entity.Role;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Read-only counterpart of {@link UserServiceImpl} on the reactive stack. Writes stay on the blocking path.
+ */
+@Service
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "user-service.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    @Override
+    public Flux<UserResponseDto> getAllUsers(String roleFilter) {
+        if (roleFilter == null || roleFilter.isEmpty()) {
+            return reactiveUserRepository.findAllByOrderByCreatedAtAscIdAsc().map(UserMapper::toResponseDto);
+        }
+        Optional<Role> role = Role.fromName(roleFilter);
+        if (role.isEmpty()) {
+            return Flux.empty();
+        }
+        return reactiveUserRepository.findAllWithRolesOrderByCreatedAtAscIdAsc(role.get().masksContaining())
+                .map(UserMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<UserResponseDto> getUser(String userId) {
+        return reactiveUserRepository.findById(userId).map(UserMapper::toResponseDto);
+    }
+
+    @Override
+    public Flux<UserResponseDto> getUsers(Collection<String> userIds) {
+        return reactiveUserRepository.findAllById(userIds).map(UserMapper::toResponseDto);
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.business.implementation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserRequestDto;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserEntity;
+import org.example.persistance.sharding.ShardContext;
+import org.example.persistance.sharding.UserShardResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in group commit for registrations. Requests arriving within a short window are
+ * written in one transaction, so peak load costs one commit per batch instead of one per user.
+ * If a batch fails, its requests are retried one by one so a single bad row only fails its own caller.
+ * Callers wait at most the await timeout; a registration that times out may still be committed later.
+ */
+@Slf4j
+@Component
+public class RegistrationBatcher {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserShardResolver shardResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+
+    private final BlockingQueue<PendingRegistration> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public RegistrationBatcher(UserRepository userRepository,
+                               TransactionTemplate transactionTemplate,
+                               UserShardResolver shardResolver,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${user-service.registration.group-commit.enabled:false}") boolean enabled,
+                               @Value("${user-service.registration.group-commit.window-ms:5}") long windowMillis,
+                               @Value("${user-service.registration.group-commit.max-batch-size:64}") int maxBatchSize,
+                               @Value("${user-service.registration.group-commit.await-timeout-ms:10000}") long awaitTimeoutMillis) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardResolver = shardResolver;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "registration-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Registration group commit enabled (window={}ms, maxBatchSize={})",
+                TimeUnit.NANOSECONDS.toMillis(windowNanos), maxBatchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public CompletableFuture<UserResponseDto> submit(UserRequestDto requestDto) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Registration group commit is not running"));
+        }
+        PendingRegistration pending = new PendingRegistration(requestDto, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result().orTimeout(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushLoop() {
+        // Keep draining after stop() so no caller is left waiting
+        while (running || !queue.isEmpty()) {
+            List<PendingRegistration> batch = new ArrayList<>();
+            try {
+                PendingRegistration first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingRegistration next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, e);
+                failAll(queue, e);
+                return;
+            } catch (Throwable e) {
+                // Errors too, so the only flusher thread survives and the callers of this batch aren't left waiting
+                log.error("Unexpected error in registration group commit: {}", e.toString());
+                failAll(batch, e);
+            }
+        }
+    }
+
+    private static void failAll(Collection<PendingRegistration> batch, Throwable error) {
+        batch.forEach(pending -> pending.result().completeExceptionally(error));
+    }
+
+    void flush(List<PendingRegistration> batch) {
+        // A transaction stays on one shard, so each shard's registrations are committed separately
+        Map<Integer, List<PendingRegistration>> byShard = batch.stream()
+                .collect(Collectors.groupingBy(pending -> shardResolver.shardFor(pending.request().getUserId()),
+                        LinkedHashMap::new, Collectors.toList()));
+        byShard.forEach(this::flushShard);
+    }
+
+    private void flushShard(int shard, List<PendingRegistration> batch) {
+        try {
+            Map<String, UserResponseDto> saved = saveOnShard(shard, batch);
+            batch.forEach(pending -> pending.result().complete(saved.get(pending.request().getUserId())));
+            log.debug("Committed {} registrations in one transaction", batch.size());
+        } catch (RuntimeException batchError) {
+            log.warn("Batched registration of {} users failed, retrying individually: {}",
+                    batch.size(), batchError.getMessage());
+            for (PendingRegistration pending : batch) {
+                try {
+                    Map<String, UserResponseDto> saved = saveOnShard(shard, List.of(pending));
+                    pending.result().complete(saved.get(pending.request().getUserId()));
+                } catch (RuntimeException e) {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private Map<String, UserResponseDto> saveOnShard(int shard, List<PendingRegistration> batch) {
+        try {
+            return ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> saveBatch(batch)));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, UserResponseDto> saveBatch(List<PendingRegistration> batch) {
+        List<String> userIds = batch.stream()
+                .map(pending -> pending.request().getUserId())
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, UserEntity> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        Map<String, UserResponseDto> previous = users.values().stream()
+                .collect(Collectors.toMap(UserEntity::getId, UserMapper::toResponseDto));
+
+        // Later requests for the same user in one batch are applied on top of earlier ones
+        Map<String, UserEntity> toSave = new LinkedHashMap<>();
+        for (PendingRegistration pending : batch) {
+            UserRequestDto requestDto = pending.request();
+            UserEntity user = toSave.getOrDefault(requestDto.getUserId(), users.get(requestDto.getUserId()));
+            if (user == null) {
+                user = UserMapper.toEntity(requestDto);
+            } else {
+                UserMapper.updateEntity(user, requestDto);
+            }
+            toSave.put(requestDto.getUserId(), user);
+        }
+
+        Map<String, UserResponseDto> saved = userRepository.saveAll(toSave.values()).stream()
+                .collect(Collectors.toMap(UserEntity::getId, UserMapper::toResponseDto));
+        // Listeners only see the events if this transaction commits
+        saved.forEach((userId, user) -> eventPublisher.publishEvent(new UserRegisteredEvent(user, previous.get(userId))));
+        return saved;
+    }
+
+    record PendingRegistration(UserRequestDto request, CompletableFuture<UserResponseDto> result) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.business.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.configuration.RabbitMQConfig;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Shares committed registrations with the {@link UserAvailabilityFilter} of every instance, so a value
+ * taken on one instance stops answering "available" on the others without waiting for their rebuild.
+ * Each instance also receives its own registrations back, which the filter ignores as duplicates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAvailabilityBroadcaster {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final UserAvailabilityFilter availabilityFilter;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        UserResponseDto user = event.getUser();
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_EXCHANGE, RabbitMQConfig.USER_REGISTERED_ROUTING_KEY,
+                    new RegisteredIdentity(user.getEmail(), user.getUsername()));
+        } catch (AmqpException e) {
+            // The registration is committed; other instances pick it up at their next rebuild
+            log.warn("Could not share registration of user {} with other instances: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{availabilityQueue.name}")
+    public void onRegisteredElsewhere(RegisteredIdentity identity) {
+        availabilityFilter.add(identity.email(), identity.username());
+    }
+
+    public record RegisteredIdentity(String email, String username) {
+    }
+}
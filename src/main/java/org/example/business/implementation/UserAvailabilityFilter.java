@@ -0,0 +1,160 @@
+package org.example.business.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserIdentityView;
+import org.example.persistance.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bloom filters over the lowercased emails and usernames in use, so availability checks for free values
+ * don't reach the database. A negative answer is only as fresh as the registrations this instance knows of:
+ * its own are added on commit, other instances' arrive through {@link UserAvailabilityBroadcaster}, and the
+ * periodic rebuild catches up on any broadcast that was lost.
+ * <p>
+ * Bloom filters can't forget a value, so a deletion only counts towards an early rebuild;
+ * until then the deleted value answers "maybe" and is checked against the database.
+ */
+@Slf4j
+@Component
+public class UserAvailabilityFilter {
+
+    private static final String FIRST_ID = "00000000-0000-0000-0000-000000000000";
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int pageSize;
+    private final int rebuildAfterDeletions;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private final AtomicInteger deletionsSinceBuild = new AtomicInteger();
+
+    public UserAvailabilityFilter(UserRepository userRepository,
+                                  @Value("${user-service.availability.expected-users:1000000}") long expectedInsertions,
+                                  @Value("${user-service.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${user-service.availability.page-size:1000}") int pageSize,
+                                  @Value("${user-service.availability.rebuild-after-deletions:1000}") int rebuildAfterDeletions) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pageSize = pageSize;
+        this.rebuildAfterDeletions = rebuildAfterDeletions;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(initialDelayString = "${user-service.availability.refresh-interval-ms:3600000}",
+            fixedDelayString = "${user-service.availability.refresh-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Filters next = new Filters(expectedInsertions, falsePositiveRate);
+        // Registrations arriving while the table is read go into both filters
+        building = next;
+        int deletionsBefore = deletionsSinceBuild.get();
+        try {
+            String lastId = FIRST_ID;
+            long loaded = 0;
+            while (true) {
+                List<UserIdentityView> page = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageSize));
+                // A sharded repository merges one page per shard; only the first pageSize rows are contiguous
+                int rows = Math.min(page.size(), pageSize);
+                for (int i = 0; i < rows; i++) {
+                    next.put(page.get(i).getEmail(), page.get(i).getUsername());
+                }
+                loaded += rows;
+                if (rows < pageSize) {
+                    break;
+                }
+                lastId = page.get(rows - 1).getId();
+            }
+            current = next;
+            deletionsSinceBuild.addAndGet(-deletionsBefore);
+            log.info("Availability filters built with {} users in {}ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to build availability filters: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.availability.deletion-check-interval-ms:60000}")
+    public void rebuildIfStale() {
+        if (deletionsSinceBuild.get() >= rebuildAfterDeletions) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        UserResponseDto user = event.getUser();
+        add(user.getEmail(), user.getUsername());
+    }
+
+    public void add(String email, String username) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(email, username);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(email, username);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        deletionsSinceBuild.incrementAndGet();
+    }
+
+    /**
+     * @return false only if the email is certainly not in use; true before the filters are loaded
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails.mightContain(normalize(email));
+    }
+
+    /**
+     * @return false only if the username is certainly not in use; true before the filters are loaded
+     */
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames.mightContain(normalize(username));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Filters {
+        private final BloomFilter emails;
+        private final BloomFilter usernames;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        private void put(String email, String username) {
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserRequestDto;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+
+final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    static UserEntity toEntity(UserRequestDto requestDto) {
+        return UserEntity.builder()
+                .id(requestDto.getUserId())
+                .email(requestDto.getEmail())
+                .firstName(requestDto.getFirstName())
+                .lastName(requestDto.getLastName())
+                .username(requestDto.getUsername())
+                .roles(Role.normalize(requestDto.getRoles()))
+                .build();
+    }
+
+    static void updateEntity(UserEntity user, UserRequestDto requestDto) {
+        user.setEmail(requestDto.getEmail());
+        user.setFirstName(requestDto.getFirstName());
+        user.setLastName(requestDto.getLastName());
+        user.setUsername(requestDto.getUsername());
+        user.setRoles(Role.normalize(requestDto.getRoles()));
+    }
+
+    static UserResponseDto toResponseDto(UserEntity user) {
+        return UserResponseDto.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .createdAt(user.getCreatedAt())
+                .roles(user.getRoles())
+                .build();
+    }
+}
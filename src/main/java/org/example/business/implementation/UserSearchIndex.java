@@ -0,0 +1,239 @@
+package org.example.business.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory prefix and trigram index over username, email and name for autocomplete.
+ * Built when the application starts, kept current from registration and deletion events,
+ * and rebuilt periodically to pick up writes made by other instances.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 2.0;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MAX_TERMS_SCANNED = 2000;
+
+    private final UserRepository userRepository;
+
+    private volatile Index current = new Index();
+    // Events arriving while a rebuild reads the table, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(initialDelayString = "${user-service.search.refresh-interval-ms:300000}",
+            fixedDelayString = "${user-service.search.refresh-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            Index rebuilt = new Index();
+            userRepository.findAllByOrderByCreatedAtAscIdAsc()
+                    .forEach(user -> rebuilt.put(UserMapper.toResponseDto(user)));
+            synchronized (this) {
+                pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+                current = rebuilt;
+            }
+            log.info("Search index built with {} users in {}ms",
+                    rebuilt.users.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to build search index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        apply(index -> index.put(event.getUser()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(index -> index.remove(event.getUserId()));
+    }
+
+    public int size() {
+        return current.users.size();
+    }
+
+    public List<UserResponseDto> search(String query, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Index index = current;
+        String[] words = normalized.split("\\s+");
+        Map<String, Double> scores = prefixScores(index, words);
+        if (scores.size() < limit && words.length == 1 && normalized.length() >= 3) {
+            fuzzyScores(index, normalized).forEach(scores::putIfAbsent);
+        }
+
+        return scores.entrySet().stream()
+                .map(entry -> Map.entry(entry.getValue(), index.users.get(entry.getKey())))
+                .filter(entry -> entry.getValue() != null)
+                .sorted(Comparator.<Map.Entry<Double, UserResponseDto>>comparingDouble(Map.Entry::getKey).reversed()
+                        .thenComparing(entry -> entry.getValue().getUsername(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(current);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(change);
+        }
+    }
+
+    // Every word must prefix some term of the user; the best term per word counts
+    private static Map<String, Double> prefixScores(Index index, String[] words) {
+        Map<String, Double> scores = null;
+        for (String word : words) {
+            Map<String, Double> wordScores = new HashMap<>();
+            int scanned = 0;
+            for (Map.Entry<String, Set<String>> term : index.terms.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+                if (++scanned > MAX_TERMS_SCANNED) {
+                    break;
+                }
+                double score = term.getKey().equals(word)
+                        ? EXACT_SCORE
+                        : PREFIX_SCORE + (double) word.length() / term.getKey().length();
+                for (String userId : term.getValue()) {
+                    wordScores.merge(userId, score, Math::max);
+                }
+            }
+
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                Map<String, Double> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<String, Double> entry : wordScores.entrySet()) {
+                    Double earlier = previous.get(entry.getKey());
+                    if (earlier != null) {
+                        scores.put(entry.getKey(), earlier + entry.getValue());
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, Double> fuzzyScores(Index index, String word) {
+        Set<String> queryTrigrams = trigrams(word);
+        Map<String, Integer> overlaps = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> userIds = index.trigrams.get(trigram);
+            if (userIds != null) {
+                userIds.forEach(userId -> overlaps.merge(userId, 1, Integer::sum));
+            }
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        overlaps.forEach((userId, overlap) -> {
+            double similarity = (double) overlap / queryTrigrams.size();
+            if (similarity >= MIN_SIMILARITY) {
+                scores.put(userId, similarity);
+            }
+        });
+        return scores;
+    }
+
+    private static Set<String> terms(UserResponseDto user) {
+        Set<String> terms = new HashSet<>();
+        for (String field : new String[]{user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName()}) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            String value = field.toLowerCase(Locale.ROOT);
+            terms.add(value);
+            for (String part : value.split("[\\s@._-]+")) {
+                if (!part.isEmpty()) {
+                    terms.add(part);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static final class Index {
+        private final Map<String, UserResponseDto> users = new ConcurrentHashMap<>();
+        private final NavigableMap<String, Set<String>> terms = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+        private void put(UserResponseDto user) {
+            remove(user.getId());
+            users.put(user.getId(), user);
+            for (String term : terms(user)) {
+                terms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(user.getId());
+                for (String trigram : trigrams(term)) {
+                    trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(user.getId());
+                }
+            }
+        }
+
+        private void remove(String userId) {
+            UserResponseDto previous = users.remove(userId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : terms(previous)) {
+                detach(terms, term, userId);
+                for (String trigram : trigrams(term)) {
+                    detach(trigrams, trigram, userId);
+                }
+            }
+        }
+
+        private static void detach(Map<String, Set<String>> postings, String key, String userId) {
+            postings.computeIfPresent(key, (ignored, userIds) -> {
+                userIds.remove(userId);
+                return userIds.isEmpty() ? null : userIds;
+            });
+        }
+    }
+}
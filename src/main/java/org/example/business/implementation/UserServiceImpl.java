@@ -2,16 +2,39 @@ package org.example.business.implementation;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserAvailabilityResponseDto;
 import org.example.business.dto.userDTO.UserRequestDto;
 import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.dto.userDTO.UserStatsResponseDto;
 import org.example.business.UserService;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.logging.SuccessLogSamplingFilter;
+import org.example.persistance.UserDeletionRepository;
+import org.example.persistance.UserField;
 import org.example.persistance.UserRepository;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserDeletionEntity;
 import org.example.persistance.entity.UserEntity;
+import org.example.timing.RequestTimings;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,65 +43,113 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
     private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistrationBatcher registrationBatcher;
+    private final UserSearchIndex userSearchIndex;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final UserStatistics userStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Registrations currently running, so concurrent calls for one user share a transaction
+    private final ConcurrentMap<String, InFlightRegistration> registrationsInFlight = new ConcurrentHashMap<>();
 
     @Override
-    @Transactional
     public UserResponseDto registerUser(UserRequestDto requestDto) {
-        log.info("Registering/updating user: {}", requestDto.getUserId());
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Registering/updating user: {}", requestDto.getUserId());
+
+        while (true) {
+            InFlightRegistration registration = new InFlightRegistration(requestDto, new CompletableFuture<>());
+            InFlightRegistration inFlight = registrationsInFlight.putIfAbsent(requestDto.getUserId(), registration);
+
+            if (inFlight == null) {
+                return runRegistration(registration);
+            }
+            if (inFlight.request().equals(requestDto)) {
+                log.info(SuccessLogSamplingFilter.ROUTINE, "Joining in-flight registration for user: {}", requestDto.getUserId());
+                return awaitRegistration(inFlight.result());
+            }
+
+            // Different data for the same user: let the earlier write finish, then apply ours
+            inFlight.result().handle((response, error) -> null).join();
+        }
+    }
+
+    private UserResponseDto runRegistration(InFlightRegistration registration) {
+        UserRequestDto requestDto = registration.request();
+        try {
+            // Group-commit writes run on the flusher thread, so the wait for them is timed as db here
+            UserResponseDto response = registrationBatcher.isEnabled()
+                    ? RequestTimings.time("db", () -> awaitRegistration(registrationBatcher.submit(requestDto)))
+                    : transactionTemplate.execute(status -> saveUser(requestDto));
+            registration.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            registration.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            registrationsInFlight.remove(requestDto.getUserId(), registration);
+        }
+    }
+
+    private UserResponseDto awaitRegistration(CompletableFuture<UserResponseDto> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Timed out waiting for the registration to be committed");
+            }
+            throw e;
+        }
+    }
 
+    private UserResponseDto saveUser(UserRequestDto requestDto) {
         // Check if user exists
         UserEntity user;
+        UserResponseDto previous = null;
         if (userRepository.existsById(requestDto.getUserId())) {
             // User exists - update
-            log.info("User exists, updating");
+            log.info(SuccessLogSamplingFilter.ROUTINE, "User exists, updating");
             user = userRepository.findById(requestDto.getUserId()).get();
-            user.setEmail(requestDto.getEmail());
-            user.setFirstName(requestDto.getFirstName());
-            user.setLastName(requestDto.getLastName());
-            user.setUsername(requestDto.getUsername());
-            user.setRoles(requestDto.getRoles());
+            previous = UserMapper.toResponseDto(user);
+            UserMapper.updateEntity(user, requestDto);
         } else {
             // New user - create
-            log.info("Creating new user");
-            user = UserEntity.builder()
-                    .id(requestDto.getUserId())
-                    .email(requestDto.getEmail())
-                    .firstName(requestDto.getFirstName())
-                    .lastName(requestDto.getLastName())
-                    .username(requestDto.getUsername())
-                    .roles(requestDto.getRoles())
-                    .build();
+            log.info(SuccessLogSamplingFilter.ROUTINE, "Creating new user");
+            user = UserMapper.toEntity(requestDto);
         }
 
         user = userRepository.save(user);
-        log.info("User saved successfully: {}", user.getId());
-
-        return UserResponseDto.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .username(user.getUsername())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .createdAt(user.getCreatedAt())
-                .roles(user.getRoles())
-                .build();
+        log.info(SuccessLogSamplingFilter.ROUTINE, "User saved successfully: {}", user.getId());
+
+        UserResponseDto response = UserMapper.toResponseDto(user);
+        // Published inside the transaction; listeners run only once it commits
+        eventPublisher.publishEvent(new UserRegisteredEvent(response, previous));
+        return response;
     }
+
     @Override
     @Transactional
     public void deleteAccount(String userId) {
         log.info("Deleting account for user: {}", userId);
 
-        if (!userRepository.existsById(userId)) {
+        UserEntity user = userRepository.findById(userId).orElseThrow(() -> {
             log.error("User not found: {}", userId);
-            throw new RuntimeException("User not found");
-        }
+            return new RuntimeException("User not found");
+        });
 
         userRepository.deleteById(userId);
+        // Lets reconciliation finish the Keycloak side if the user.deleted message is lost
+        userDeletionRepository.save(new UserDeletionEntity(userId, LocalDateTime.now()));
         log.info("User deleted from local database: {}", userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, UserMapper.toResponseDto(user)));
 
         try {
-            rabbitTemplate.convertAndSend("user.exchange", "user.deleted", userId);
+            RequestTimings.time("amqp", () -> rabbitTemplate.convertAndSend("user.exchange", "user.deleted", userId));
             log.info("Published user.deleted event for user: {}", userId);
         } catch (Exception e) {
             log.error("Failed to publish user.deleted event: {}", e.getMessage());
@@ -87,26 +158,92 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
+    public boolean deleteLocalUser(String userId) {
+        Optional<UserEntity> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            return false;
+        }
+        userRepository.deleteById(userId);
+        log.info("Removed user no longer in Keycloak: {}", userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, UserMapper.toResponseDto(user.get())));
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers(String roleFilter) {
-        log.info("Getting all users with role filter: {}", roleFilter);
-        List<UserEntity> users = userRepository.findAll();
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Getting all users with role filter: {}", roleFilter);
+
+        List<UserEntity> users;
+        if (roleFilter == null || roleFilter.isEmpty()) {
+            users = userRepository.findAllByOrderByCreatedAtAscIdAsc();
+        } else {
+            Optional<Role> role = Role.fromName(roleFilter);
+            if (role.isEmpty()) {
+                return List.of();
+            }
+            users = userRepository.findAllWithRolesOrderByCreatedAtAscIdAsc(role.get().masksContaining());
+        }
 
         return users.stream()
-                .filter(user -> {
-                    if (roleFilter == null || roleFilter.isEmpty()) {
-                        return true;
-                    }
-                    return user.getRoles() != null && user.getRoles().contains(roleFilter);
+                .map(UserMapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUsers(String roleFilter, Set<UserField> fields) {
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Getting fields {} of all users with role filter: {}", fields, roleFilter);
+
+        Collection<Integer> roleMasks = null;
+        if (roleFilter != null && !roleFilter.isEmpty()) {
+            Optional<Role> role = Role.fromName(roleFilter);
+            if (role.isEmpty()) {
+                return List.of();
+            }
+            roleMasks = role.get().masksContaining();
+        }
+
+        // The query also returns the ordering columns; only the requested fields are sent back
+        return userRepository.findFieldsOrderByCreatedAtAscIdAsc(fields, roleMasks).stream()
+                .map(row -> {
+                    Map<String, Object> user = new LinkedHashMap<>();
+                    fields.forEach(field -> user.put(field.attribute(), row.get(field.attribute())));
+                    return user;
                 })
-                .map(user -> UserResponseDto.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .username(user.getUsername())
-                        .firstName(user.getFirstName())
-                        .lastName(user.getLastName())
-                        .roles(user.getRoles())
-                        .createdAt(user.getCreatedAt())
-                        .build())
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<UserResponseDto> searchUsers(String query, int limit) {
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Searching users for: {}", query);
+        return userSearchIndex.search(query, limit);
+    }
+
+    @Override
+    public UserAvailabilityResponseDto checkAvailability(String email, String username) {
+        UserAvailabilityResponseDto.UserAvailabilityResponseDtoBuilder result = UserAvailabilityResponseDto.builder();
+
+        // The database is only asked when the filter can't rule the value out
+        if (email != null) {
+            String value = email.trim();
+            boolean taken = availabilityFilter.mightContainEmail(value) && userRepository.existsByEmailIgnoreCase(value);
+            result.email(value).emailAvailable(!taken);
+        }
+        if (username != null) {
+            String value = username.trim();
+            boolean taken = availabilityFilter.mightContainUsername(value) && userRepository.existsByUsernameIgnoreCase(value);
+            result.username(value).usernameAvailable(!taken);
+        }
+        return result.build();
+    }
+
+    @Override
+    public UserStatsResponseDto getStatistics(int days) {
+        return userStatistics.snapshot(days);
+    }
+
+    private record InFlightRegistration(UserRequestDto request, CompletableFuture<UserResponseDto> result) {
+    }
 }
\ No newline at end of file
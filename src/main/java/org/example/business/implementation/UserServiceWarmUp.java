@@ -0,0 +1,237 @@
+package org.example.business.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.UserService;
+import org.example.business.dto.userDTO.UserRequestDto;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserEntity;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the JIT and the database before the readiness probe reports up. Readiness only switches to
+ * accepting traffic once every {@link ApplicationRunner} has returned, so traffic waits for this.
+ * <p>
+ * Within the time budget it opens connections in every pool, then repeats rounds of synthetic validation,
+ * mapping and JSON round trips plus the main read queries, which fill Postgres' buffer cache and
+ * Hibernate's query plan cache. The in-memory search index and availability filters are already
+ * loaded by then, on {@code ApplicationStartedEvent}. Failures are logged and never stop startup.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserServiceWarmUp implements ApplicationRunner {
+
+    private static final String FIRST_ID = "00000000-0000-0000-0000-000000000000";
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ObjectProvider<DataSource> dataSource;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger completedRounds = new AtomicInteger();
+
+    @Value("${user-service.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user-service.warmup.budget-ms:10000}")
+    private long budgetMs;
+
+    @Value("${user-service.warmup.pool-connections:10}")
+    private int poolConnections;
+
+    @Value("${user-service.warmup.mapping-iterations:2000}")
+    private int mappingIterations;
+
+    @Value("${user-service.warmup.max-rounds:10}")
+    private int maxRounds;
+
+    @Value("${user-service.warmup.preload-users:1000}")
+    private int preloadUsers;
+
+    public UserServiceWarmUp(UserService userService, UserRepository userRepository, ObjectMapper objectMapper,
+                             Validator validator, ObjectProvider<DataSource> dataSource, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        boolean connectionsOpened = step("connections", () -> openConnections(deadline));
+        boolean mappingWorks = true;
+        boolean readsWork = connectionsOpened;
+        int rounds = 0;
+        while (rounds < maxRounds && System.nanoTime() < deadline && (mappingWorks || readsWork)) {
+            if (mappingWorks) {
+                mappingWorks = step("mapping", this::mapSyntheticUsers);
+            }
+            if (readsWork && System.nanoTime() < deadline) {
+                readsWork = step("reads", this::readUsers);
+            }
+            rounds++;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("user_service.warmup.total")
+                .description("Time from the start of the warm-up until readiness")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        completedRounds.set(rounds);
+        meterRegistry.gauge("user_service.warmup.rounds", completedRounds);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.info("Warm-up finished after {} rounds in {}ms (budget {}ms)", rounds, elapsedMs, budgetMs);
+    }
+
+    private boolean step(String name, Runnable work) {
+        Timer timer = Timer.builder("user_service.warmup")
+                .description("Time spent in each warm-up step before readiness")
+                .tag("step", name)
+                .register(meterRegistry);
+        try {
+            timer.record(work);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed, skipping it: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    // Every physical pool is warmed, including the replicas or shards behind a routing data source
+    private void openConnections(long deadline) {
+        DataSource dataSource = this.dataSource.getIfAvailable();
+        if (dataSource == null) {
+            return;
+        }
+        List<DataSource> pools = physicalPools(dataSource);
+        int failed = 0;
+        SQLException lastFailure = null;
+        for (DataSource pool : pools) {
+            try {
+                openConnections(pool, deadline);
+            } catch (SQLException e) {
+                log.warn("Could not warm a connection pool: {}", e.getMessage());
+                failed++;
+                lastFailure = e;
+            }
+        }
+        // Reads are still worth warming as long as one pool answered
+        if (failed == pools.size()) {
+            throw new IllegalStateException("Could not open pool connections: " + lastFailure.getMessage(), lastFailure);
+        }
+    }
+
+    // Connections are held at the same time so the pool has to create that many, but never more than it may hold:
+    // a borrow beyond the maximum would wait for the pool's connection timeout instead of the warm-up budget
+    private void openConnections(DataSource pool, long deadline) throws SQLException {
+        HikariDataSource hikari = pool.isWrapperFor(HikariDataSource.class) ? pool.unwrap(HikariDataSource.class) : null;
+        int count = hikari != null ? Math.min(poolConnections, hikari.getMaximumPoolSize()) : poolConnections;
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < count && System.nanoTime() < deadline; i++) {
+                Connection connection = borrow(pool, hikari, deadline);
+                connections.add(connection);
+                connection.isValid((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime())));
+            }
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Could not return warm-up connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // A started Hikari pool can wait for the remaining budget; the first borrow starts the pool, which fails fast
+    private static Connection borrow(DataSource pool, HikariDataSource hikari, long deadline) throws SQLException {
+        if (hikari != null && hikari.getHikariPoolMXBean() instanceof HikariPool started) {
+            return started.getConnection(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        return pool.getConnection();
+    }
+
+    private static List<DataSource> physicalPools(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(AbstractRoutingDataSource.class)) {
+                return List.copyOf(new LinkedHashSet<>(
+                        dataSource.unwrap(AbstractRoutingDataSource.class).getResolvedDataSources().values()));
+            }
+        } catch (SQLException e) {
+            log.debug("Could not look behind the data source: {}", e.getMessage());
+        }
+        return List.of(dataSource);
+    }
+
+    private void mapSyntheticUsers() {
+        List<UserResponseDto> users = new ArrayList<>(mappingIterations);
+        for (int i = 0; i < mappingIterations; i++) {
+            UserRequestDto request = UserRequestDto.builder()
+                    .userId(UUID.randomUUID().toString())
+                    .email("warmup" + i + "@example.com")
+                    .firstName("Warm")
+                    .lastName("Up")
+                    .username("warmup" + i)
+                    .roles(i % 2 == 0 ? "CAR_ENTHUSIAST" : "CAR_ENTHUSIAST,MECHANIC")
+                    .build();
+            validator.validate(request);
+
+            UserEntity entity = UserMapper.toEntity(request);
+            entity.setCreatedAt(LocalDateTime.now());
+            users.add(UserMapper.toResponseDto(entity));
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(users);
+            objectMapper.readValue(json, UserResponseDto[].class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize warm-up users: " + e.getMessage(), e);
+        }
+    }
+
+    // Bounded reads along the hot query paths, so a large table can't eat the whole budget
+    private void readUsers() {
+        userRepository.findByIdGreaterThanOrderByIdAsc(FIRST_ID, Limit.of(preloadUsers));
+        userRepository.countByRoles();
+        userRepository.existsByEmailIgnoreCase("warmup@example.com");
+        userRepository.existsByUsernameIgnoreCase("warmup");
+        userService.searchUsers("warmup", 10);
+        userService.getStatistics(30);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.business.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.dto.userDTO.UserStatsResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.RoleCountView;
+import org.example.persistance.SignupDayCountView;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Users per role and signups per day, kept as counters so the stats endpoint never scans the table.
+ * Counters follow committed registrations and deletions and are replaced by a {@code GROUP BY}
+ * snapshot on startup and on a schedule, which also folds in writes made by other instances.
+ * Events that commit while that snapshot is read may be counted twice or not at all until the next one.
+ */
+@Slf4j
+@Component
+public class UserStatistics {
+
+    private final UserRepository userRepository;
+    private final int retentionDays;
+
+    private volatile Counters counters = new Counters(null);
+
+    public UserStatistics(UserRepository userRepository,
+                          @Value("${user-service.stats.retention-days:366}") int retentionDays) {
+        this.userRepository = userRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(initialDelayString = "${user-service.stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${user-service.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            Counters fresh = new Counters(LocalDateTime.now());
+            for (RoleCountView roleCount : userRepository.countByRoles()) {
+                fresh.total.add(roleCount.getUserCount());
+                int mask = Role.maskOf(roleCount.getRoles());
+                fresh.byRole.forEach((role, count) -> {
+                    if ((mask & role.bit()) != 0) {
+                        count.add(roleCount.getUserCount());
+                    }
+                });
+            }
+            LocalDate firstDay = LocalDate.now().minusDays(retentionDays - 1L);
+            for (SignupDayCountView dayCount : userRepository.countSignupsByDaySince(firstDay.atStartOfDay())) {
+                fresh.day(dayCount.getDay()).add(dayCount.getUserCount());
+            }
+
+            long drift = fresh.total.sum() - counters.total.sum();
+            counters = fresh;
+            if (drift != 0) {
+                log.info("Reconciled user statistics, total users off by {}", drift);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to reconcile user statistics: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        Counters current = counters;
+        UserResponseDto user = event.getUser();
+        UserResponseDto previous = event.getPrevious();
+        if (previous == null) {
+            current.total.increment();
+            current.day(signupDay(user)).increment();
+            current.addRoles(user.getRoles(), 1);
+        } else if (Role.maskOf(previous.getRoles()) != Role.maskOf(user.getRoles())) {
+            current.addRoles(previous.getRoles(), -1);
+            current.addRoles(user.getRoles(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        UserResponseDto user = event.getUser();
+        if (user == null) {
+            return;
+        }
+        Counters current = counters;
+        current.total.decrement();
+        current.day(signupDay(user)).decrement();
+        current.addRoles(user.getRoles(), -1);
+    }
+
+    public UserStatsResponseDto snapshot(int days) {
+        Counters current = counters;
+
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        current.byRole.forEach((role, count) -> byRole.put(role.name(), Math.max(0, count.sum())));
+
+        Map<String, Long> byDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(Math.min(days, retentionDays) - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder count = current.byDay.get(day);
+            byDay.put(day.toString(), count == null ? 0 : Math.max(0, count.sum()));
+        }
+
+        return UserStatsResponseDto.builder()
+                .totalUsers(Math.max(0, current.total.sum()))
+                .usersByRole(byRole)
+                .signupsByDay(byDay)
+                .reconciledAt(current.reconciledAt)
+                .build();
+    }
+
+    private static LocalDate signupDay(UserResponseDto user) {
+        return user.getCreatedAt() != null ? user.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final Map<Role, LongAdder> byRole = new EnumMap<>(Role.class);
+        private final Map<LocalDate, LongAdder> byDay = new ConcurrentHashMap<>();
+        private final LocalDateTime reconciledAt;
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+            for (Role role : Role.values()) {
+                byRole.put(role, new LongAdder());
+            }
+        }
+
+        private LongAdder day(LocalDate day) {
+            return byDay.computeIfAbsent(day, key -> new LongAdder());
+        }
+
+        private void addRoles(String roles, long delta) {
+            int mask = Role.maskOf(roles);
+            byRole.forEach((role, count) -> {
+                if ((mask & role.bit()) != 0) {
+                    count.add(delta);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.business.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A comma separated list of {@link org.example.persistance.UserField} names, checked by parsing it the same way the query does.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = KnownFieldsValidator.class)
+public @interface KnownFields {
+
+    String message() default "Fields must be a comma separated list of {fields}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,30 @@
+package org.example.business.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.example.persistance.UserField;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class KnownFieldsValidator implements ConstraintValidator<KnownFields, String> {
+
+    private static final String FIELD_NAMES = Arrays.stream(UserField.values())
+            .map(UserField::attribute)
+            .collect(Collectors.joining(", "));
+
+    @Override
+    public boolean isValid(String fields, ConstraintValidatorContext context) {
+        if (fields == null) {
+            return true;
+        }
+        try {
+            UserField.parse(fields);
+            return true;
+        } catch (IllegalArgumentException e) {
+            context.unwrap(HibernateConstraintValidatorContext.class).addMessageParameter("fields", FIELD_NAMES);
+            return false;
+        }
+    }
+}
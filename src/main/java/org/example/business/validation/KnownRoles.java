@@ -0,0 +1,28 @@
+package org.example.business.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A comma separated list of {@link org.example.persistance.entity.Role} names. Blank values are left to {@code @NotBlank}.
+ * <p>
+ * Contract change for {@code X-User-Roles}: roles used to be stored as free text, so any name the gateway sent was
+ * accepted. Roles are now stored as a bitset of the known roles, and a registration naming any other role, or a known
+ * one in another case, is rejected with 400 instead of having that role silently dropped.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = KnownRolesValidator.class)
+public @interface KnownRoles {
+
+    String message() default "Roles must be a comma separated list of CAR_ENTHUSIAST, MECHANIC";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package org.example.business.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.example.persistance.entity.Role;
+
+public class KnownRolesValidator implements ConstraintValidator<KnownRoles, String> {
+
+    @Override
+    public boolean isValid(String roles, ConstraintValidatorContext context) {
+        return roles == null || roles.isBlank() || Role.allKnown(roles);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.limit.AdaptiveConcurrencyLimit;
+import org.example.limit.ConcurrencyLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "user-service.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Runs before every other filter so rejected requests cost as little as possible
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                MeterRegistry meterRegistry) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limit("read", properties.getRead(), properties),
+                limit("write", properties.getWrite(), properties),
+                properties.getRetryAfterSeconds(),
+                meterRegistry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimit limit(String name, ConcurrencyLimitProperties.Limit limit,
+                                                  ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimit(name, limit.getInitial(), limit.getMin(), limit.getMax(),
+                properties.getLatencyTolerance(), properties.getBackoffRatio());
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    // Recent latency above this multiple of a route's long-run latency counts as a sign of overload
+    private double latencyTolerance = 2.0;
+    private double backoffRatio = 0.9;
+    private int retryAfterSeconds = 1;
+    private Limit read = new Limit(50, 5, 200);
+    private Limit write = new Limit(20, 2, 100);
+
+    @Data
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+
+        public Limit() {
+        }
+
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.configuration;
+
+import org.example.profiling.JfrEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * On-demand flight recordings through {@code /actuator/jfr}. The endpoint only exists
+ * when it is listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Configuration
+public class JfrEndpointConfig {
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public JfrEndpoint jfrEndpoint(
+            @Value("${user-service.jfr.default-duration-seconds:30}") long defaultDurationSeconds,
+            @Value("${user-service.jfr.max-duration-seconds:300}") long maxDurationSeconds,
+            @Value("${user-service.jfr.lock-threshold-ms:10}") long lockThresholdMs,
+            @Value("${user-service.jfr.retained-recordings:3}") int retainedRecordings,
+            @Value("${user-service.jfr.top-entries:10}") int topEntries) {
+        return new JfrEndpoint(Duration.ofSeconds(defaultDurationSeconds), Duration.ofSeconds(maxDurationSeconds),
+                Duration.ofMillis(lockThresholdMs), retainedRecordings, topEntries);
+    }
+}
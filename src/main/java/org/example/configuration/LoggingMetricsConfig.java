@@ -0,0 +1,39 @@
+package org.example.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.logging.MeteredAsyncAppender;
+import org.example.logging.SuccessLogSamplingFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes what the logging pipeline in {@code logback-spring.xml} held back.
+ */
+@Configuration
+public class LoggingMetricsConfig {
+
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("user_service.logging.lost", MeteredAsyncAppender.class, ignored -> MeteredAsyncAppender.discarded())
+                    .description("Log lines lost in the async appender")
+                    .tag("reason", "discarding_threshold")
+                    .register(registry);
+            FunctionCounter.builder("user_service.logging.lost", MeteredAsyncAppender.class, ignored -> MeteredAsyncAppender.dropped())
+                    .description("Log lines lost in the async appender")
+                    .tag("reason", "queue_full")
+                    .register(registry);
+            FunctionCounter.builder("user_service.logging.inline", MeteredAsyncAppender.class, ignored -> MeteredAsyncAppender.writtenInline())
+                    .description("WARN and ERROR lines written on the calling thread because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("user_service.logging.sampled_out", SuccessLogSamplingFilter.class, ignored -> SuccessLogSamplingFilter.skipped())
+                    .description("Routine INFO lines skipped by sampling")
+                    .register(registry);
+            Gauge.builder("user_service.logging.queue.size", MeteredAsyncAppender::queued)
+                    .description("Log lines waiting for the async appender's worker")
+                    .register(registry);
+        };
+    }
+}
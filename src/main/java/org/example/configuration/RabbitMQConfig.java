@@ -12,7 +12,9 @@ public class RabbitMQConfig {
 
     public static final String USER_EXCHANGE = "user.exchange";
     public static final String USER_DELETED_ROUTING_KEY = "user.deleted";
+    public static final String USER_REGISTERED_ROUTING_KEY = "user.registered";
     public static final String KEYCLOAK_QUEUE = "keycloak.user.deleted.queue";
+    public static final String KEYCLOAK_LISTENER_ID = "keycloakUserDeletedListener";
 
     @Bean
     public TopicExchange userExchange() {
@@ -32,9 +34,26 @@ public class RabbitMQConfig {
                 .with(USER_DELETED_ROUTING_KEY);
     }
 
+    // One queue per instance, removed when the instance disconnects: every instance sees every registration
+    @Bean
+    public Queue availabilityQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("user.availability."));
+    }
+
+    @Bean
+    public Binding availabilityBinding() {
+        return BindingBuilder
+                .bind(availabilityQueue())
+                .to(userExchange())
+                .with(USER_REGISTERED_ROUTING_KEY);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        // Stable message ids let consumers recognise redeliveries
+        converter.setCreateMessageIds(true);
+        return converter;
     }
 
     @Bean
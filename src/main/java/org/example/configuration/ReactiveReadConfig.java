@@ -0,0 +1,56 @@
+package org.example.configuration;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.example.persistance.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access to the primary database for the reactive read API. The pool is deliberately not a
+ * {@code ConnectionFactory} bean: one would switch off the JDBC data source auto-configuration
+ * that JPA, Flyway and the routing data sources build on.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user-service.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReactiveUserRepository reactiveUserRepository(
+            DataSourceProperties dataSourceProperties,
+            ShardingProperties shardingProperties,
+            @Value("${user-service.reactive.url:}") String url,
+            @Value("${user-service.reactive.max-connections:10}") int maxConnections,
+            @Value("${user-service.reactive.fetch-size:500}") int fetchSize,
+            @Value("${user-service.reactive.max-acquire-time-ms:5000}") long maxAcquireTimeMs,
+            @Value("${user-service.reactive.stream-timeout-ms:300000}") long streamTimeoutMs) {
+        if (shardingProperties.isEnabled()) {
+            throw new IllegalStateException("The reactive read API only reads the primary database; "
+                    + "disable user-service.reactive.enabled when sharding is enabled");
+        }
+
+        // Same database as JDBC unless configured otherwise: jdbc:postgresql://... becomes r2dbc:postgresql://...
+        String r2dbcUrl = StringUtils.hasText(url) ? url : dataSourceProperties.determineUrl().replaceFirst("^jdbc:", "r2dbc:");
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-reads")
+                .initialSize(0)
+                .maxSize(maxConnections)
+                .maxIdleTime(Duration.ofMinutes(10))
+                // Streams hold their connection while the client reads, so callers past maxSize fail fast instead of queueing
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+        return new ReactiveUserRepository(pool, fetchSize, Duration.ofMillis(streamTimeoutMs));
+    }
+}
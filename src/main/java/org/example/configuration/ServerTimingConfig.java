@@ -0,0 +1,66 @@
+package org.example.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.persistance.UserRepository;
+import org.example.timing.ServerTimingFilter;
+import org.example.timing.TimedDataSource;
+import org.example.timing.TimedInvocationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request phase timing returned in the {@code Server-Timing} header.
+ * JDBC round trips on the JPA data source count as {@code db}, including flushes and commits issued outside a
+ * repository call; {@code UserServiceImpl} times its own broker calls.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user-service.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${user-service.timing.log-spans:false}") boolean logSpans) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry, logSpans));
+        registration.addUrlPatterns("/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // Unordered, so it wraps the repository after the ordered sharding wrapper and times scatter-gather calls as a whole:
+    // the shard queries run on other threads, where the JDBC timing can't see them. Nested JDBC calls aren't counted twice.
+    @Bean
+    public static BeanPostProcessor timedUserRepositoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof UserRepository repository) {
+                    return TimedInvocationHandler.wrap(UserRepository.class, repository, TimedDataSource.PHASE);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Only the data source JPA and the transaction manager use; the pools behind a routing data source stay unwrapped
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new TimedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.persistance.UserDeletionRepository;
+import org.example.persistance.UserRepository;
+import org.example.persistance.sharding.ShardContext;
+import org.example.persistance.sharding.ShardRoutingDataSource;
+import org.example.persistance.sharding.ShardedRepositoryHandler;
+import org.example.persistance.sharding.UserShardResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash-sharded user storage. Without {@code user-service.datasource.sharding.enabled} there is a single
+ * shard and the auto-configured data source is used as is.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public UserShardResolver userShardResolver(ShardingProperties shardingProperties) {
+        return new UserShardResolver(shardingProperties.shardCount());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "user-service.datasource.sharding", name = "enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        @Bean
+        @Primary
+        public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                     ShardingProperties shardingProperties,
+                                     ObjectProvider<ReadReplicaProperties> replicaProperties) {
+            ReadReplicaProperties replicas = replicaProperties.getIfAvailable();
+            if (replicas != null && replicas.isEnabled()) {
+                throw new IllegalStateException("Sharding and read replica routing can't be enabled together");
+            }
+            if (shardingProperties.getShards().isEmpty()) {
+                throw new IllegalStateException("Sharding is enabled but no shards are configured");
+            }
+
+            List<DataSource> shards = shardingProperties.getShards().stream()
+                    .map(shard -> shardDataSource(dataSourceProperties, shard))
+                    .toList();
+            log.info("Sharding users over {} data sources", shards.size());
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+        }
+
+        @Bean
+        public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardingProperties shardingProperties) {
+            return flyway -> {
+                for (int shard = 0; shard < shardingProperties.shardCount(); shard++) {
+                    try {
+                        ShardContext.callOn(shard, flyway::migrate);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Migration of shard " + shard + " failed", e);
+                    }
+                }
+            };
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        public ExecutorService shardScatterExecutor(ShardingProperties shardingProperties) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(shardingProperties.getScatterParallelism(), runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Bean
+        public static BeanPostProcessor shardedRepositoryPostProcessor(ObjectProvider<UserShardResolver> shardResolver,
+                                                                       ObjectProvider<ExecutorService> shardScatterExecutor) {
+            return new ShardedRepositoryPostProcessor(shardResolver, shardScatterExecutor);
+        }
+
+        // Ordered, so it runs before unordered post-processors that wrap the repository, such as request timing
+        private record ShardedRepositoryPostProcessor(ObjectProvider<UserShardResolver> shardResolver,
+                                                      ObjectProvider<ExecutorService> shardScatterExecutor)
+                implements BeanPostProcessor, Ordered {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof UserRepository repository) {
+                    return ShardedRepositoryHandler.wrap(UserRepository.class, repository,
+                            shardResolver.getObject(), shardScatterExecutor.getObject());
+                }
+                // Tombstones live on the deleted user's shard, next to the row they replace
+                if (bean instanceof UserDeletionRepository repository) {
+                    return ShardedRepositoryHandler.wrap(UserDeletionRepository.class, repository,
+                            shardResolver.getObject(), shardScatterExecutor.getObject());
+                }
+                return bean;
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        }
+
+        private static DataSource shardDataSource(DataSourceProperties dataSourceProperties, ShardingProperties.Shard shard) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getUrl());
+            dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername());
+            dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            return dataSource;
+        }
+    }
+}
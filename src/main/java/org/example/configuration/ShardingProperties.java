@@ -0,0 +1,28 @@
+package org.example.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private int scatterParallelism = 8;
+    private List<Shard> shards = new ArrayList<>();
+
+    public int shardCount() {
+        return enabled ? shards.size() : 1;
+    }
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
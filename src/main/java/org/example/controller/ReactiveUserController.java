@@ -0,0 +1,75 @@
+package org.example.controller;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.ReactiveUserService;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking reads for callers that fan out many lookups. Handlers return Reactor types, so the
+ * request thread is released while the database works. The full list is only served as
+ * {@code application/x-ndjson}, one user per line, and the next row is only read once the previous one
+ * is written; as JSON, MVC would collect the whole table into memory first. Batches are bounded, so
+ * they are also served as JSON.
+ */
+@RestController
+@RequestMapping("/reactive/users")
+@AllArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnProperty(prefix = "user-service.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponseDto> getAllUsers(
+            @RequestParam(required = false)
+            @Pattern(regexp = "^(CAR_ENTHUSIAST|MECHANIC)?$", message = "Role must be CAR_ENTHUSIAST or MECHANIC")
+            String role) {
+        return reactiveUserService.getAllUsers(role);
+    }
+
+    @GetMapping(value = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<UserResponseDto> getUsers(
+            @RequestParam
+            @NotEmpty(message = "At least one id is required")
+            @Size(max = 100, message = "At most 100 ids can be requested at once")
+            List<String> ids) {
+        return reactiveUserService.getUsers(ids);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<UserResponseDto>> getUser(@PathVariable String userId) {
+        return reactiveUserService.getUser(userId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<List<String>> handleConstraintViolation(ConstraintViolationException e) {
+        log.warn("Rejected request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .toList());
+    }
+}
@@ -1,11 +1,25 @@
 package org.example.controller;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.userDTO.UserAvailabilityResponseDto;
 import org.example.business.dto.userDTO.UserRequestDto;
 import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.dto.userDTO.UserStatsResponseDto;
 import org.example.business.UserService;
+import org.example.business.idempotency.IdempotencyStore;
+import org.example.business.idempotency.StoredResponse;
+import org.example.business.validation.KnownFields;
+import org.example.business.validation.KnownRoles;
+import org.example.logging.SuccessLogSamplingFilter;
+import org.example.persistance.UserField;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -20,19 +34,24 @@ import java.util.List;
 @Validated  // <-- ADDED
 public class UserController {
 
+    private static final String UUID_PATTERN = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+
     private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponseDto> registerUser(
-            @RequestHeader(value = "X-User-Id") String userId,
+            @RequestHeader(value = "X-User-Id") @Pattern(regexp = UUID_PATTERN, message = "User ID must be a UUID") String userId,
             @RequestHeader(value = "X-User-Email") String email,
             @RequestHeader(value = "X-User-FirstName") String firstName,
             @RequestHeader(value = "X-User-LastName") String lastName,
             @RequestHeader(value = "X-User-Username") String username,
-            @RequestHeader(value = "X-User-Roles") String roles,
+            // Only CAR_ENTHUSIAST and MECHANIC are accepted; see KnownRoles for the contract change
+            @RequestHeader(value = "X-User-Roles") @KnownRoles String roles,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody(required = false) UserRequestDto additionalInfo) {
 
-        log.info("Register request for user: {}", userId);
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Register request for user: {}", userId);
 
         UserRequestDto userDto = UserRequestDto.builder()
                 .userId(userId)
@@ -43,20 +62,83 @@ public class UserController {
                 .roles(roles)
                 .build();
 
+        // Keys are scoped per user so one caller can't replay another user's response
+        String storeKey = idempotencyKey != null ? "register:" + userId + ":" + idempotencyKey : null;
+        String requestHash = StoredResponse.hash(userDto, additionalInfo);
+        if (storeKey != null) {
+            StoredResponse previous = idempotencyStore.get(storeKey, StoredResponse.class).orElse(null);
+            if (previous != null) {
+                if (!previous.answers(requestHash)) {
+                    log.warn("Idempotency key reused with a different request for user: {}", userId);
+                    return ResponseEntity.unprocessableEntity().build();
+                }
+                log.info("Replaying register response for user: {}", userId);
+                return ResponseEntity.ok(previous.response(UserResponseDto.class));
+            }
+        }
+
         UserResponseDto response = userService.registerUser(userDto);
+        if (storeKey != null) {
+            idempotencyStore.put(storeKey, new StoredResponse(requestHash, response));
+        }
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponseDto>> getAllUsers(
+    public ResponseEntity<List<?>> getAllUsers(
             @RequestParam(required = false)
             @Pattern(regexp = "^(CAR_ENTHUSIAST|MECHANIC)?$", message = "Role must be CAR_ENTHUSIAST or MECHANIC")  // <-- ADDED
-            String role) {
-        log.info("Fetching all users with role filter: {}", role);
+            String role,
+            @RequestParam(required = false)
+            @KnownFields
+            String fields) {
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Fetching all users with role filter: {}", role);
+        if (fields != null) {
+            return ResponseEntity.ok(userService.getAllUsers(role, UserField.parse(fields)));
+        }
         List<UserResponseDto> users = userService.getAllUsers(role);
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponseDto>> searchUsers(
+            @RequestParam
+            @NotBlank(message = "Search query is required")
+            @Size(max = 100, message = "Search query must be at most 100 characters")
+            String q,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 50, message = "Limit must be at most 50")
+            int limit) {
+        log.info(SuccessLogSamplingFilter.ROUTINE, "Searching users for: {}", q);
+        List<UserResponseDto> users = userService.searchUsers(q, limit);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<UserAvailabilityResponseDto> checkAvailability(
+            @RequestParam(required = false)
+            @Size(min = 1, max = 255, message = "Email must be between 1 and 255 characters")
+            String email,
+            @RequestParam(required = false)
+            @Size(min = 1, max = 255, message = "Username must be between 1 and 255 characters")
+            String username) {
+        if (email == null && username == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.debug("Checking availability of email: {}, username: {}", email, username);
+        return ResponseEntity.ok(userService.checkAvailability(email, username));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsResponseDto> getStatistics(
+            @RequestParam(defaultValue = "30")
+            @Min(value = 1, message = "Days must be at least 1")
+            @Max(value = 366, message = "Days must be at most 366")
+            int days) {
+        return ResponseEntity.ok(userService.getStatistics(days));
+    }
+
     @DeleteMapping("/account")
     public ResponseEntity<Void> deleteAccount(
             @RequestHeader(value = "X-User-Id") String userId) {
@@ -74,5 +156,12 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<List<String>> handleConstraintViolation(ConstraintViolationException e) {
+        log.warn("Rejected request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .toList());
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.limit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Concurrency limit driven by a latency gradient. The limit grows by one when a request completes
+ * while all permits were in use and latency is normal, and shrinks by the backoff ratio when a request
+ * fails or recent latency has risen past the tolerated multiple of the route's long-run latency.
+ * <p>
+ * Latency is tracked per route, so a search taking a few milliseconds and a statistics query taking a
+ * hundred are each compared with themselves. Two moving averages are kept: a short one over roughly the
+ * last ten requests and a long one over roughly the last hundred. Comparing the two instead of single
+ * samples lets GC pauses and network jitter pass, and the long average slowly accepts a lasting change
+ * (a slower query plan, a new database host) as normal. Only successful requests are sampled: a 404
+ * that skipped most of the work says nothing about how long the route normally takes.
+ * <p>
+ * Like TCP, the limit shrinks at most once per round trip: requests admitted before the last
+ * decrease were slowed by the old limit and can't trigger another one.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.01;
+    // A route's latency is only judged once its averages have seen this many requests
+    private static final int WARM_UP_SAMPLES = 20;
+
+    /**
+     * How a request ended, as far as the limit is concerned.
+     */
+    public enum Outcome {
+        /** Completed normally; its latency is sampled. */
+        SUCCESS,
+        /** Ended early without pointing at overload, such as a 4xx; neither sampled nor penalised. */
+        IGNORED,
+        /** Failed in a way that points at overload, such as a 5xx. */
+        FAILED;
+
+        public static Outcome forStatus(int status) {
+            if (status >= 500) {
+                return FAILED;
+            }
+            return status >= 200 && status < 300 ? SUCCESS : IGNORED;
+        }
+    }
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final Map<String, RouteLatency> latencies = new HashMap<>();
+
+    private int limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    double latencyTolerance, double backoffRatio) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param route        the route the request matched, whose own latency it is compared with
+     * @param latencyNanos how long the request held its permit
+     * @param outcome      how the request ended
+     */
+    public void release(String route, long latencyNanos, Outcome outcome) {
+        release(route, latencyNanos, outcome, System.nanoTime());
+    }
+
+    synchronized void release(String route, long latencyNanos, Outcome outcome, long nowNanos) {
+        boolean saturated = inFlight >= limit;
+        inFlight--;
+
+        boolean overloaded = outcome == Outcome.FAILED;
+        if (outcome == Outcome.SUCCESS) {
+            RouteLatency latency = latencies.computeIfAbsent(route, key -> new RouteLatency(latencyNanos));
+            latency.add(latencyNanos);
+            overloaded = latency.samples >= WARM_UP_SAMPLES && latency.shortNanos > latency.longNanos * latencyTolerance;
+        }
+
+        if (overloaded) {
+            // A request that started before the last decrease belongs to the window that was already punished
+            boolean sameWindow = decreased && nowNanos - latencyNanos <= lastDecreaseNanos;
+            if (!sameWindow) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                lastDecreaseNanos = nowNanos;
+                decreased = true;
+            }
+        } else if (saturated && outcome == Outcome.SUCCESS) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private static final class RouteLatency {
+        private double shortNanos;
+        private double longNanos;
+        private long samples;
+
+        private RouteLatency(long firstNanos) {
+            this.shortNanos = firstNanos;
+            this.longNanos = firstNanos;
+        }
+
+        private void add(long latencyNanos) {
+            shortNanos += (latencyNanos - shortNanos) * SHORT_SMOOTHING;
+            longNanos += (latencyNanos - longNanos) * LONG_SMOOTHING;
+            samples++;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sheds load before it queues up: each request takes a permit from the read (GET, HEAD) or write
+ * limit and is answered with 503 and {@code Retry-After} straight away when none is left.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final int retryAfterSeconds;
+    private final Map<AdaptiveConcurrencyLimit, Counter> rejections;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                                  int retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejections = Map.of(
+                readLimit, registerMeters(readLimit, meterRegistry),
+                writeLimit, registerMeters(writeLimit, meterRegistry));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = isRead(request) ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            rejections.get(limit).increment();
+            log.debug("Rejected {} {}: {} limit of {} reached", request.getMethod(), request.getRequestURI(),
+                    limit.getName(), limit.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return;
+        }
+
+        long start = System.nanoTime();
+        AdaptiveConcurrencyLimit.Outcome outcome = AdaptiveConcurrencyLimit.Outcome.FAILED;
+        try {
+            filterChain.doFilter(request, response);
+            outcome = AdaptiveConcurrencyLimit.Outcome.forStatus(response.getStatus());
+        } finally {
+            limit.release(route(request), System.nanoTime() - start, outcome);
+        }
+    }
+
+    // Set by the dispatcher once a handler matched; unmatched requests share one latency average
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static Counter registerMeters(AdaptiveConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        Gauge.builder("user_service.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("path", limit.getName())
+                .register(meterRegistry);
+        Gauge.builder("user_service.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("path", limit.getName())
+                .register(meterRegistry);
+        return Counter.builder("user_service.concurrency.rejected")
+                .description("Requests answered with 503 because the concurrency limit was reached")
+                .tag("path", limit.getName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.RabbitMQConfig;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resizes the consumers and prefetch of the {@link RabbitMQConfig#KEYCLOAK_QUEUE} listener
+ * from the current queue depth and the average time it takes to handle one message.
+ * Scaling up happens in one step, scaling down one consumer per interval so short gaps
+ * in a burst don't make the container flap.
+ * A changed prefetch only reaches a consumer when it opens its channel, so changing it restarts the
+ * consumers and requeues the messages they had prefetched. Prefetch therefore only moves once the backlog
+ * per consumer has changed by prefetch-change-factor, not on every interval while a backlog drains.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeycloakListenerAutoscaler {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final AmqpAdmin amqpAdmin;
+
+    // Exponentially weighted moving average of the processing time, stored as double bits
+    private final AtomicLong averageLatencyMillis = new AtomicLong(Double.doubleToLongBits(0));
+
+    // Prefetch last applied to the container, 0 until the first adjustment
+    private volatile int appliedPrefetch;
+
+    @Value("${user-service.listener.autoscale.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user-service.listener.autoscale.min-consumers:1}")
+    private int minConsumers;
+
+    @Value("${user-service.listener.autoscale.max-consumers:8}")
+    private int maxConsumers;
+
+    @Value("${user-service.listener.autoscale.min-prefetch:1}")
+    private int minPrefetch;
+
+    @Value("${user-service.listener.autoscale.max-prefetch:50}")
+    private int maxPrefetch;
+
+    @Value("${user-service.listener.autoscale.target-drain-time-ms:5000}")
+    private long targetDrainTimeMs;
+
+    @Value("${user-service.listener.autoscale.prefetch-change-factor:2.0}")
+    private double prefetchChangeFactor;
+
+    public void recordProcessingTime(long durationNanos) {
+        double sampleMillis = durationNanos / 1_000_000.0;
+        averageLatencyMillis.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0 ? sampleMillis : current + LATENCY_SMOOTHING * (sampleMillis - current);
+            return Double.doubleToLongBits(next);
+        });
+    }
+
+    public double getAverageLatencyMillis() {
+        return Double.longBitsToDouble(averageLatencyMillis.get());
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.listener.autoscale.interval-ms:5000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+
+        MessageListenerContainer listenerContainer =
+                listenerRegistry.getListenerContainer(RabbitMQConfig.KEYCLOAK_LISTENER_ID);
+        if (!(listenerContainer instanceof SimpleMessageListenerContainer container) || !container.isRunning()) {
+            return;
+        }
+
+        QueueInformation queueInfo;
+        try {
+            queueInfo = amqpAdmin.getQueueInfo(RabbitMQConfig.KEYCLOAK_QUEUE);
+        } catch (Exception e) {
+            log.warn("Could not read depth of {}: {}", RabbitMQConfig.KEYCLOAK_QUEUE, e.getMessage());
+            return;
+        }
+        if (queueInfo == null) {
+            return;
+        }
+
+        int depth = queueInfo.getMessageCount();
+        int currentConsumers = container.getActiveConsumerCount();
+        int consumers = desiredConsumers(depth, getAverageLatencyMillis(), currentConsumers);
+        int prefetch = nextPrefetch(desiredPrefetch(depth, consumers));
+
+        if (consumers != currentConsumers) {
+            log.info("Scaling {} listener from {} to {} consumers (depth={}, prefetch={})",
+                    RabbitMQConfig.KEYCLOAK_QUEUE, currentConsumers, consumers, depth, prefetch);
+            container.setPrefetchCount(prefetch);
+            if (consumers > currentConsumers) {
+                container.setMaxConcurrentConsumers(consumers);
+                container.setConcurrentConsumers(consumers);
+            } else {
+                container.setConcurrentConsumers(consumers);
+                container.setMaxConcurrentConsumers(consumers);
+            }
+        }
+
+        if (prefetch != appliedPrefetch) {
+            log.info("Changing {} listener prefetch from {} to {} (depth={}, consumers={})",
+                    RabbitMQConfig.KEYCLOAK_QUEUE, appliedPrefetch, prefetch, depth, consumers);
+            container.setPrefetchCount(prefetch);
+            // Setting the same queues restarts every consumer, which then opens its channel with the new prefetch
+            container.setQueueNames(container.getQueueNames());
+            appliedPrefetch = prefetch;
+        }
+    }
+
+    int desiredConsumers(int depth, double latencyMillis, int currentConsumers) {
+        int target = minConsumers;
+        if (depth > 0 && latencyMillis > 0) {
+            // Consumers needed to drain the current backlog within the target time
+            target = (int) Math.ceil(depth * latencyMillis / targetDrainTimeMs);
+        }
+        target = clamp(target, minConsumers, maxConsumers);
+
+        if (target < currentConsumers) {
+            return Math.max(target, currentConsumers - 1);
+        }
+        return target;
+    }
+
+    int desiredPrefetch(int depth, int consumers) {
+        if (consumers <= 0) {
+            return minPrefetch;
+        }
+        return clamp(depth / consumers, minPrefetch, maxPrefetch);
+    }
+
+    // Keeps the applied prefetch until the desired one is at least prefetchChangeFactor larger or smaller
+    int nextPrefetch(int desired) {
+        int applied = appliedPrefetch;
+        if (applied == 0) {
+            return desired;
+        }
+        double ratio = (double) Math.max(desired, applied) / Math.min(desired, applied);
+        return ratio >= prefetchChangeFactor ? desired : applied;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
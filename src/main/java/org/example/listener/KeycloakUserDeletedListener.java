@@ -1,17 +1,25 @@
 package org.example.listener;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.business.idempotency.IdempotencyStore;
 import org.example.configuration.RabbitMQConfig;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class KeycloakUserDeletedListener {
 
+    private final KeycloakListenerAutoscaler autoscaler;
+    private final IdempotencyStore idempotencyStore;
+
     @Value("${keycloak.url}")
     private String keycloakUrl;
 
@@ -24,10 +32,21 @@ public class KeycloakUserDeletedListener {
     @Value("${keycloak.client-secret}")
     private String keycloakClientSecret;
 
-    @RabbitListener(queues = RabbitMQConfig.KEYCLOAK_QUEUE)
-    public void handleUserDeletedFromKeycloak(String userId) {
+    @RabbitListener(id = RabbitMQConfig.KEYCLOAK_LISTENER_ID, queues = RabbitMQConfig.KEYCLOAK_QUEUE)
+    public void handleUserDeletedFromKeycloak(
+            String userId,
+            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         log.info("Received request to delete user from Keycloak: {}", userId);
 
+        // Redeliveries keep the message id; messages published without one are keyed by user
+        String idempotencyKey = "user.deleted:" + (messageId != null ? messageId : userId);
+        if (idempotencyStore.contains(idempotencyKey)) {
+            log.info("Skipping already processed deletion for user: {}", userId);
+            return;
+        }
+
+        long start = System.nanoTime();
+
         try {
             Keycloak keycloak = KeycloakBuilder.builder()
                     .serverUrl(keycloakUrl)
@@ -41,10 +60,13 @@ public class KeycloakUserDeletedListener {
                     .users()
                     .delete(userId);
 
+            idempotencyStore.put(idempotencyKey, Boolean.TRUE);
             log.info("Successfully deleted user from Keycloak: {}", userId);
         } catch (Exception e) {
             log.error("Failed to delete user from Keycloak: {}", e.getMessage());
             throw e;
+        } finally {
+            autoscaler.recordProcessingTime(System.nanoTime() - start);
         }
     }
 }
\ No newline at end of file
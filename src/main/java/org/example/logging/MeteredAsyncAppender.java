@@ -0,0 +1,99 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's {@link AsyncAppender} with counted losses. Request threads only enqueue the event;
+ * one worker thread formats and writes it. When the queue runs low, INFO and below are discarded,
+ * and when it is full they are dropped instead of blocking the caller.
+ * <p>
+ * WARN and ERROR are never lost: if the queue is full they are written on the calling thread.
+ * Callers take turns to check the queue and enqueue, so no other caller can fill it in between;
+ * the queue takes a lock on every offer anyway, so this adds little contention.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final Set<MeteredAsyncAppender> RUNNING = ConcurrentHashMap.newKeySet();
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final LongAdder WRITTEN_INLINE = new LongAdder();
+
+    private final Object enqueueLock = new Object();
+
+    /**
+     * Lines discarded because the queue was below the discarding threshold.
+     */
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+
+    /**
+     * Lines dropped because the queue was full.
+     */
+    public static long dropped() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * WARN and ERROR lines written on the calling thread because the queue was full.
+     */
+    public static long writtenInline() {
+        return WRITTEN_INLINE.sum();
+    }
+
+    public static int queued() {
+        return RUNNING.stream().mapToInt(MeteredAsyncAppender::getNumberOfElementsInQueue).sum();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            RUNNING.add(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        RUNNING.remove(this);
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+        // Checked once without the lock as well, so discarded lines are never formatted
+        if (!important && getRemainingCapacity() < getDiscardingThreshold()) {
+            DISCARDED.increment();
+            return;
+        }
+        preprocess(event);
+        synchronized (enqueueLock) {
+            int remaining = getRemainingCapacity();
+            if (!important && remaining < getDiscardingThreshold()) {
+                DISCARDED.increment();
+                return;
+            }
+            if (remaining > 0 || !important && !isNeverBlock()) {
+                super.append(event);
+                return;
+            }
+            if (!important) {
+                DROPPED.increment();
+                return;
+            }
+        }
+        WRITTEN_INLINE.increment();
+        for (Iterator<Appender<ILoggingEvent>> it = iteratorForAppenders(); it.hasNext(); ) {
+            it.next().doAppend(event);
+        }
+    }
+}
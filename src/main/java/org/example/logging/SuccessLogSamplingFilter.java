@@ -0,0 +1,60 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps one in {@code sampleRate} of the INFO lines logged with the {@link #ROUTINE} marker, the
+ * per-request and success lines of the hot endpoints. Any other line, including audit lines such as
+ * deletions, is always logged. Lines are counted per log statement, and each routine statement
+ * belongs to one endpoint, so every endpoint keeps its own sample however uneven the traffic.
+ * <p>
+ * Turbo filters run before the event is built, so a skipped line costs a map lookup and an increment.
+ */
+public class SuccessLogSamplingFilter extends TurboFilter {
+
+    public static final Marker ROUTINE = MarkerFactory.getMarker("ROUTINE");
+
+    private static final LongAdder SKIPPED = new LongAdder();
+    // Statements are compile-time constants, so this only grows if a caller builds its own format strings
+    private static final int MAX_STATEMENTS = 1000;
+
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private int sampleRate = 1;
+
+    public static long skipped() {
+        return SKIPPED.sum();
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.INFO || format == null || sampleRate <= 1 || marker == null || !marker.contains(ROUTINE)) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong count = counts.get(format);
+        if (count == null) {
+            if (counts.size() >= MAX_STATEMENTS) {
+                return FilterReply.NEUTRAL;
+            }
+            count = counts.computeIfAbsent(format, key -> new AtomicLong());
+        }
+        if (count.getAndIncrement() % sampleRate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SKIPPED.increment();
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.persistance;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.example.persistance.converter.UuidStringType;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the {@code users} table over R2DBC, with its own connection pool.
+ * Rows are mapped the way the JPA converters map them: the uuid id as a string and the roles bitset as names.
+ */
+public class ReactiveUserRepository {
+
+    private static final String SELECT_USERS =
+            "SELECT id, email, username, first_name, last_name, roles, created_at FROM users";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+    private final Duration streamTimeout;
+
+    public ReactiveUserRepository(ConnectionPool pool, int fetchSize, Duration streamTimeout) {
+        this.pool = pool;
+        this.databaseClient = DatabaseClient.create(pool);
+        this.fetchSize = fetchSize;
+        this.streamTimeout = streamTimeout;
+    }
+
+    // Rows are fetched fetchSize at a time as the subscriber asks for them, so a slow client holds back the query
+    public Flux<UserEntity> findAllByOrderByCreatedAtAscIdAsc() {
+        return withDeadline(databaseClient.sql(SELECT_USERS + " ORDER BY created_at, id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveUserRepository::toEntity)
+                .all());
+    }
+
+    public Flux<UserEntity> findAllWithRolesOrderByCreatedAtAscIdAsc(Collection<Integer> roleMasks) {
+        return withDeadline(databaseClient.sql(SELECT_USERS + " WHERE roles IN (:roleMasks) ORDER BY created_at, id")
+                .bind("roleMasks", List.copyOf(roleMasks))
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveUserRepository::toEntity)
+                .all());
+    }
+
+    public Mono<UserEntity> findById(String id) {
+        return UuidStringType.parse(id)
+                .map(uuid -> databaseClient.sql(SELECT_USERS + " WHERE id = :id")
+                        .bind("id", uuid)
+                        .map(ReactiveUserRepository::toEntity)
+                        .one())
+                .orElseGet(Mono::empty);
+    }
+
+    // Ids that aren't uuids can't match a row, so they are left out of the query
+    public Flux<UserEntity> findAllById(Collection<String> ids) {
+        List<UUID> uuids = ids.stream()
+                .map(UuidStringType::parse)
+                .flatMap(Optional::stream)
+                .distinct()
+                .toList();
+        if (uuids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_USERS + " WHERE id IN (:ids)")
+                .bind("ids", uuids)
+                .map(ReactiveUserRepository::toEntity)
+                .all();
+    }
+
+    // A stream holds its pooled connection until the client has read the last row, so the whole stream
+    // gets a deadline, not just the gap between rows: each row rearms the timer with the time that is left
+    private <T> Flux<T> withDeadline(Flux<T> rows) {
+        return Flux.defer(() -> {
+            long deadline = System.nanoTime() + streamTimeout.toNanos();
+            return rows.timeout(Mono.delay(streamTimeout),
+                    row -> Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+        });
+    }
+
+    public void close() {
+        pool.dispose();
+    }
+
+    static UserEntity toEntity(Readable row) {
+        Integer roles = row.get("roles", Integer.class);
+        return UserEntity.builder()
+                .id(String.valueOf(row.get("id", UUID.class)))
+                .email(row.get("email", String.class))
+                .username(row.get("username", String.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .roles(Role.namesOf(roles == null ? 0 : roles))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .newEntity(false)
+                .build();
+    }
+}
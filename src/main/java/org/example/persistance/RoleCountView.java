@@ -0,0 +1,9 @@
+package org.example.persistance;
+
+/**
+ * Number of users holding one exact combination of roles.
+ */
+public interface RoleCountView {
+    String getRoles();
+    long getUserCount();
+}
@@ -0,0 +1,8 @@
+package org.example.persistance;
+
+import java.time.LocalDate;
+
+public interface SignupDayCountView {
+    LocalDate getDay();
+    long getUserCount();
+}
@@ -0,0 +1,20 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.UserDeletionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserDeletionRepository extends JpaRepository<UserDeletionEntity, String> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from UserDeletionEntity d where d.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,44 @@
+package org.example.persistance;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a user that callers can ask for with {@code fields=}; the name is both the
+ * entity attribute and the JSON property.
+ */
+public enum UserField {
+    ID("id"),
+    EMAIL("email"),
+    USERNAME("username"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    ROLES("roles"),
+    CREATED_AT("createdAt");
+
+    private final String attribute;
+
+    UserField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Parses a comma separated list such as {@code "id,username"}, keeping declaration order.
+     */
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> parsed = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.attribute.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + trimmed)));
+        }
+        return parsed;
+    }
+}
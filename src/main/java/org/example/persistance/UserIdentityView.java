@@ -0,0 +1,10 @@
+package org.example.persistance;
+
+/**
+ * Columns needed to know which emails and usernames are taken.
+ */
+public interface UserIdentityView {
+    String getId();
+    String getEmail();
+    String getUsername();
+}
@@ -0,0 +1,17 @@
+package org.example.persistance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface UserProjectionRepository {
+
+    /**
+     * Selects only the given columns, plus {@code id} and {@code createdAt} which the ordering needs.
+     *
+     * @param roleMasks stored role bitsets to keep, or null for every user
+     * @return one map per user, keyed by {@link UserField#attribute()}
+     */
+    List<Map<String, Object>> findFieldsOrderByCreatedAtAscIdAsc(Set<UserField> fields, Collection<Integer> roleMasks);
+}
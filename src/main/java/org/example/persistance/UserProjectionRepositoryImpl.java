@@ -0,0 +1,63 @@
+package org.example.persistance;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsOrderByCreatedAtAscIdAsc(Set<UserField> fields, Collection<Integer> roleMasks) {
+        Set<UserField> selected = EnumSet.of(UserField.ID, UserField.CREATED_AT);
+        selected.addAll(fields);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<UserEntity> user = query.from(UserEntity.class);
+
+        List<Selection<?>> columns = selected.stream()
+                .<Selection<?>>map(field -> user.get(field.attribute()).alias(field.attribute()))
+                .toList();
+        query.multiselect(columns);
+        if (roleMasks != null) {
+            // The converter on roles maps role names to the stored bitset
+            query.where(user.get("roles").in(roleMasks.stream()
+                    .map(Role::namesOf)
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+        query.orderBy(criteriaBuilder.asc(user.get("createdAt")), criteriaBuilder.asc(user.get("id")));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(UserProjectionRepositoryImpl::toMap)
+                .toList();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+    }
+}
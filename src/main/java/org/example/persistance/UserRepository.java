@@ -1,17 +1,71 @@
 package org.example.persistance;
 
 import org.example.persistance.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, String>, UserProjectionRepository {
 
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByEmail(String email);
 
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByUsername(String username);
 
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
+
+    // lower() on both sides matches the users_*_lower_idx expression indexes
+    @Transactional(readOnly = true)
+    @Query("select u from UserEntity u where lower(u.email) = lower(:email)")
+    Optional<UserEntity> findByEmailIgnoreCase(@Param("email") String email);
+
+    @Transactional(readOnly = true)
+    @Query("select u from UserEntity u where lower(u.username) = lower(:username)")
+    Optional<UserEntity> findByUsernameIgnoreCase(@Param("username") String username);
+
+    @Transactional(readOnly = true)
+    @Query("select count(u) > 0 from UserEntity u where lower(u.email) = lower(:email)")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
+
+    @Transactional(readOnly = true)
+    @Query("select count(u) > 0 from UserEntity u where lower(u.username) = lower(:username)")
+    boolean existsByUsernameIgnoreCase(@Param("username") String username);
+
+    // Keyset page over the primary key, so walking the whole table never uses OFFSET
+    @Transactional(readOnly = true)
+    List<UserIdentityView> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    // Keyset page in username order, the order Keycloak lists its users in. Code point order (ucs_basic)
+    // rather than the database collation, so pages from several shards can be merged
+    @Transactional(readOnly = true)
+    @Query("select u.id as id, u.email as email, u.username as username from UserEntity u "
+            + "where collate(u.username as ucs_basic) > :username order by collate(u.username as ucs_basic)")
+    List<UserIdentityView> findByUsernameGreaterThanOrderByUsernameAsc(@Param("username") String username, Limit limit);
+
+    @Transactional(readOnly = true)
+    List<UserEntity> findAllByOrderByCreatedAtAscIdAsc();
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT * FROM users WHERE roles IN (:roleMasks) ORDER BY created_at, id", nativeQuery = true)
+    List<UserEntity> findAllWithRolesOrderByCreatedAtAscIdAsc(@Param("roleMasks") Collection<Integer> roleMasks);
+
+    @Transactional(readOnly = true)
+    @Query("select u.roles as roles, count(u) as userCount from UserEntity u group by u.roles")
+    List<RoleCountView> countByRoles();
+
+    @Transactional(readOnly = true)
+    @Query("select extract(date from u.createdAt) as day, count(u) as userCount from UserEntity u "
+            + "where u.createdAt >= :since group by extract(date from u.createdAt)")
+    List<SignupDayCountView> countSignupsByDaySince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
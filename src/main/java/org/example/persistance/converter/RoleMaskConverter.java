@@ -0,0 +1,23 @@
+package org.example.persistance.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.example.persistance.entity.Role;
+
+/**
+ * Keeps roles as a comma separated list in Java and as a {@link Role} bitset in the database.
+ * Unknown role names are rejected rather than dropped; requests are validated before they get here.
+ */
+@Converter
+public class RoleMaskConverter implements AttributeConverter<String, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(String roles) {
+        return Role.maskOf(roles);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer mask) {
+        return mask == null ? null : Role.namesOf(mask);
+    }
+}
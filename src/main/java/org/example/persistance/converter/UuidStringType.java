@@ -0,0 +1,105 @@
+package org.example.persistance.converter;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.EnhancedUserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maps a Keycloak id held as a {@link String} to a native 16 byte {@code uuid} column.
+ * A string that isn't a uuid can't be in the column, so it is bound as {@code NULL} and matches no row.
+ */
+public class UuidStringType implements EnhancedUserType<String> {
+
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        Object value = rs.getObject(position);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        Optional<UUID> uuid = parse(value);
+        if (uuid.isEmpty()) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, uuid.get());
+        }
+    }
+
+    public static Optional<UUID> parse(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+
+    // Hibernate asks for a literal formatter whenever the id type is used, e.g. by the PostgreSQL dialect
+    @Override
+    public String toSqlLiteral(String value) {
+        return parse(value).map(uuid -> "'" + uuid + "'").orElse("NULL");
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromStringValue(CharSequence sequence) {
+        return sequence == null ? null : sequence.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package org.example.persistance.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Roles stored as bits of the {@code users.roles} column. The bit of a role is its ordinal,
+ * so new roles must only ever be appended.
+ */
+public enum Role {
+    CAR_ENTHUSIAST,
+    MECHANIC;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Mask of a list such as {@code "MECHANIC,CAR_ENTHUSIAST"}.
+     *
+     * @throws IllegalArgumentException if the list names a role that doesn't exist
+     */
+    public static int maskOf(String roles) {
+        if (roles == null || roles.isBlank()) {
+            return 0;
+        }
+        int mask = 0;
+        for (String name : roles.trim().split("[^A-Za-z_]+")) {
+            Role role = fromName(name).orElseThrow(() -> new IllegalArgumentException("Unknown role: " + name));
+            mask |= role.bit();
+        }
+        return mask;
+    }
+
+    public static boolean allKnown(String roles) {
+        try {
+            maskOf(roles);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The list as it is stored and read back: known roles in declaration order, without duplicates.
+     */
+    public static String normalize(String roles) {
+        return namesOf(maskOf(roles));
+    }
+
+    public static Optional<Role> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(role -> role.name().equals(name))
+                .findFirst();
+    }
+
+    /**
+     * Every stored bitset value that includes this role, for index friendly {@code roles IN (...)} queries.
+     */
+    public List<Integer> masksContaining() {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 0; mask < 1 << values().length; mask++) {
+            if ((mask & bit()) != 0) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    public static String namesOf(int mask) {
+        if (mask == 0) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(role -> (mask & role.bit()) != 0)
+                .map(Role::name)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.example.persistance.converter.UuidStringType;
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.annotations.Type;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_deletions")
+// A user deleted again after re-registering may still have the old tombstone; it takes the new time
+@SQLInsert(sql = "insert into user_deletions (deleted_at, id) values (?, ?) "
+        + "on conflict (id) do update set deleted_at = excluded.deleted_at")
+@Data
+@NoArgsConstructor
+public class UserDeletionEntity implements Persistable<String> {
+
+    @Id
+    @Type(UuidStringType.class)
+    @Column(name = "id", columnDefinition = "uuid")
+    private String id; // Keycloak UUID of the deleted user
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    public UserDeletionEntity(String id, LocalDateTime deletedAt) {
+        this.id = id;
+        this.deletedAt = deletedAt;
+    }
+
+    // Persistable lets the sharded repository route a tombstone by its user id, and saves a new one
+    // with a plain insert instead of looking it up first
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
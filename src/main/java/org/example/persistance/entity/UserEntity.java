@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.example.persistance.converter.RoleMaskConverter;
+import org.example.persistance.converter.UuidStringType;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -16,10 +22,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserEntity {
+public class UserEntity implements Persistable<String> {
 
     @Id
-    @Column(name = "id")
+    @Type(UuidStringType.class)
+    @Column(name = "id", columnDefinition = "uuid")
     private String id; // Keycloak UUID
 
     @Column(name = "email", nullable = false, unique = true)
@@ -34,10 +41,30 @@ public class UserEntity {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column
-    private String roles;
+    @Convert(converter = RoleMaskConverter.class)
+    @Column(name = "roles", nullable = false)
+    private String roles; // Role bitset in the database
 
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    // Ids are assigned by Keycloak, so Spring Data can't tell new rows apart by a null id.
+    // Tracking it here lets new users be inserted without the extra SELECT of a merge.
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package org.example.persistance.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica and everything else to the primary.
+ * Replicas whose replication lag exceeds the limit, or which fail a health check or a connection attempt,
+ * are skipped until a later health check finds them usable again.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * connection is fetched after the transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Integer replica = nextHealthyReplica();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // A replica that refuses a connection is taken out of rotation and the next one, or the primary, is tried
+    @Override
+    public Connection getConnection() throws SQLException {
+        while (determineCurrentLookupKey() instanceof Integer index) {
+            Replica replica = replicas.get(index);
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica connection failed, taking it out of rotation: {}", e.getMessage());
+                replica.healthy = false;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    public void refreshHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lagMillis = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+                boolean usable = lagMillis <= maxLagMillis;
+                if (usable != replica.healthy) {
+                    log.info("Replica {} is now {} (lag={}ms)", i, usable ? "in rotation" : "out of rotation", lagMillis);
+                }
+                replica.healthy = usable;
+            } catch (SQLException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its health check: {}", i, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public long healthyReplicaCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Integer nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int offset = 0; offset < replicas.size(); offset++) {
+            int index = (start + offset) % replicas.size();
+            if (replicas.get(index).healthy) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.persistance.sharding;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Streams the k-way merge of already sorted inputs, holding only one head element per input.
+ */
+public class MergingIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Cursor<T>> heads;
+
+    public MergingIterator(List<? extends Iterator<? extends T>> inputs, Comparator<? super T> order) {
+        this.heads = new PriorityQueue<>(Math.max(inputs.size(), 1),
+                (left, right) -> order.compare(left.head, right.head));
+        for (Iterator<? extends T> input : inputs) {
+            if (input.hasNext()) {
+                heads.add(new Cursor<>(input.next(), input));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Cursor<T> cursor = heads.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        T value = cursor.head;
+        if (cursor.rest.hasNext()) {
+            cursor.head = cursor.rest.next();
+            heads.add(cursor);
+        }
+        return value;
+    }
+
+    private static final class Cursor<T> {
+        private T head;
+        private final Iterator<? extends T> rest;
+
+        private Cursor(T head, Iterator<? extends T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
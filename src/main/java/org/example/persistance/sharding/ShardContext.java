@@ -0,0 +1,33 @@
+package org.example.persistance.sharding;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Shard selected for work on the current thread. Read by {@link ShardRoutingDataSource}
+ * when a connection is actually opened, so a transaction stays on the shard of its first statement.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Callable<T> work) throws Exception {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
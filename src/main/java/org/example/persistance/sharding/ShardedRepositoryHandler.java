@@ -0,0 +1,415 @@
+package org.example.persistance.sharding;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Spreads a Spring Data repository over shards.
+ * <ul>
+ *     <li>Calls keyed by one user id or entity run on that user's shard.</li>
+ *     <li>Calls taking a collection of ids or entities are split per shard.</li>
+ *     <li>Everything else runs on all shards in parallel. Sorted list results are combined with a
+ *     streaming k-way merge, using the {@link Sort} or {@link Pageable} argument or the {@code OrderBy}
+ *     clause of the method name; plain {@code findAll()} and unsorted pages are fetched ordered by id.
+ *     A {@link Limit} or page is applied to the merged result, and a page's total is the sum over the
+ *     shards. Other results are combined by type (first match, any true, sum of counts).</li>
+ * </ul>
+ * A call made while {@link ShardContext} is already set stays on that shard, and a transaction
+ * may only touch one shard.
+ * <p>
+ * Strings are merged in code point order, so a query sorted by a string column has to order it the
+ * same way ({@code collate(... as ucs_basic)}); the id is a native uuid and already sorts like its text.
+ * Methods that can't be merged, such as {@link Stream} results or string orders in the database collation,
+ * are rejected when the repository is wrapped.
+ */
+public class ShardedRepositoryHandler implements InvocationHandler {
+
+    private static final Set<String> ID_METHODS = Set.of(
+            "findById", "existsById", "deleteById", "getById", "getReferenceById", "getOne");
+
+    private static final Set<String> ID_BATCH_METHODS = Set.of(
+            "findAllById", "saveAll", "saveAllAndFlush", "deleteAll", "deleteAllById",
+            "deleteAllInBatch", "deleteAllByIdInBatch");
+
+    private static final Map<Class<?>, Map<String, Method>> GETTERS = new ConcurrentHashMap<>();
+
+    // User ids are stored as native uuid, whose order is the order of their lower-case text
+    private static final String ID_PROPERTY = "id";
+
+    private static final Pattern CODE_POINT_COLLATION = Pattern.compile("(?i)\\bucs_basic\\b|collate\\s+\"C\"");
+
+    private static final Comparator<String> CODE_POINT_ORDER = (left, right) -> {
+        int length = Math.min(left.length(), right.length());
+        for (int i = 0; i < length; ) {
+            int leftCodePoint = left.codePointAt(i);
+            int rightCodePoint = right.codePointAt(i);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            i += Character.charCount(leftCodePoint);
+        }
+        return Integer.compare(left.length(), right.length());
+    };
+
+    private final Class<?> repositoryType;
+    private final Class<?> domainType;
+    private final Object target;
+    private final UserShardResolver shardResolver;
+    private final ExecutorService executor;
+
+    private ShardedRepositoryHandler(Class<?> repositoryType, Object target,
+                                     UserShardResolver shardResolver, ExecutorService executor) {
+        this.repositoryType = repositoryType;
+        this.domainType = ResolvableType.forClass(repositoryType).as(Repository.class).resolveGeneric(0);
+        this.target = target;
+        this.shardResolver = shardResolver;
+        this.executor = executor;
+    }
+
+    public static <R> R wrap(Class<R> repositoryType, R target, UserShardResolver shardResolver, ExecutorService executor) {
+        ShardedRepositoryHandler handler = new ShardedRepositoryHandler(repositoryType, target, shardResolver, executor);
+        handler.checkMergeable();
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                handler));
+    }
+
+    private void checkMergeable() {
+        for (Method method : repositoryType.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (Stream.class.isAssignableFrom(method.getReturnType())) {
+                throw new IllegalStateException(repositoryType.getSimpleName() + "." + method.getName()
+                        + " returns a Stream, which can't be spread over shards");
+            }
+            Sort order = orderOfName(method);
+            if (order != null) {
+                checkMergeable(method, order);
+            }
+        }
+    }
+
+    private void checkMergeable(Method method, Sort sort) {
+        Query query = method.getAnnotation(Query.class);
+        boolean codePointOrder = query != null && CODE_POINT_COLLATION.matcher(query.value()).find();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!codePointOrder && !property.equals(ID_PROPERTY) && propertyType(property) == String.class) {
+                throw new IllegalStateException(repositoryType.getSimpleName() + "." + method.getName()
+                        + " sorts by " + property + " in the database collation; shard results can only be merged "
+                        + "if the query orders it with collate(... as ucs_basic)");
+            }
+        }
+    }
+
+    private Class<?> propertyType(String property) {
+        PropertyDescriptor descriptor = domainType == null ? null : BeanUtils.getPropertyDescriptor(domainType, property);
+        return descriptor == null ? null : descriptor.getPropertyType();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeTarget(method, args);
+        }
+        Object[] arguments = args != null ? args : new Object[0];
+
+        Integer pinned = ShardContext.current();
+        if (pinned != null) {
+            return invokeTarget(method, arguments);
+        }
+
+        Integer shard = singleShard(method, arguments);
+        if (shard != null) {
+            return onShard(shard, method, arguments);
+        }
+        if (arguments.length == 1 && arguments[0] instanceof Iterable<?> items && ID_BATCH_METHODS.contains(method.getName())) {
+            return partitioned(method, items);
+        }
+        return scatterGather(method, arguments);
+    }
+
+    private Integer singleShard(Method method, Object[] args) {
+        if (args.length == 0) {
+            return null;
+        }
+        if (args[0] instanceof Persistable<?> entity && entity.getId() instanceof String userId) {
+            return shardResolver.shardFor(userId);
+        }
+        if (ID_METHODS.contains(method.getName()) && args[0] instanceof String userId) {
+            return shardResolver.shardFor(userId);
+        }
+        return null;
+    }
+
+    private Object partitioned(Method method, Iterable<?> items) throws Throwable {
+        Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object item : items) {
+            int shard = shardResolver.shardFor(shardKey(item));
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(item);
+        }
+        if (byShard.size() > 1 && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("A transaction can only span one shard; "
+                    + method.getName() + " touches shards " + byShard.keySet());
+        }
+
+        List<Object> combined = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> group : byShard.entrySet()) {
+            Object result = onShard(group.getKey(), method, new Object[]{group.getValue()});
+            if (result instanceof Iterable<?> values) {
+                values.forEach(combined::add);
+            }
+        }
+        return method.getReturnType() == void.class ? null : combined;
+    }
+
+    private Object scatterGather(Method method, Object[] args) throws Throwable {
+        Method shardMethod = method;
+        Object[] shardArgs = args.clone();
+        Sort sort = orderOf(method, args);
+        if (method.getName().equals("findAll") && args.length == 0) {
+            // Unordered findAll is fetched by id so the shard results can be merged
+            shardMethod = repositoryType.getMethod("findAll", Sort.class);
+            shardArgs = new Object[]{Sort.by(ID_PROPERTY)};
+            sort = Sort.by(ID_PROPERTY);
+        }
+
+        // A page of the merged result needs the first offset + size rows of every shard
+        Pageable pageable = argument(args, Pageable.class);
+        if (pageable != null && pageable.isPaged()) {
+            if (sort == null) {
+                sort = Sort.by(ID_PROPERTY);
+            }
+            long rows = pageable.getOffset() + pageable.getPageSize();
+            if (rows > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Page " + pageable + " is too deep to spread over shards");
+            }
+            Sort shardSort = pageable.getSort().isSorted() || orderOfName(method) != null ? pageable.getSort() : sort;
+            replaceArgument(shardArgs, Pageable.class, PageRequest.of(0, (int) rows, shardSort));
+        }
+        if (sort != null) {
+            checkMergeable(method, sort);
+        }
+
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardResolver.shardCount(); shard++) {
+            int currentShard = shard;
+            Method invoked = shardMethod;
+            Object[] invokedArgs = shardArgs;
+            futures.add(executor.submit(() -> ShardContext.callOn(currentShard, () -> invokeTarget(invoked, invokedArgs))));
+        }
+
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        return combine(method.getReturnType(), results, sort == null ? null : propertyOrder(sort), pageable, argument(args, Limit.class));
+    }
+
+    private static Object combine(Class<?> returnType, List<Object> results, Comparator<Object> order,
+                                  Pageable pageable, Limit limit) {
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (returnType == long.class || returnType == Long.class) {
+            return results.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        }
+        if (returnType == int.class || returnType == Integer.class) {
+            return results.stream().mapToInt(result -> ((Number) result).intValue()).sum();
+        }
+        if (returnType == Optional.class) {
+            return results.stream()
+                    .map(Optional.class::cast)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (Iterable.class.isAssignableFrom(returnType)) {
+            long skip = pageable != null && pageable.isPaged() ? pageable.getOffset() : 0;
+            int max = pageable != null && pageable.isPaged() ? pageable.getPageSize()
+                    : limit != null && limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+            List<Object> content = merge(results, order, skip, max);
+
+            if (Page.class.isAssignableFrom(returnType)) {
+                long total = results.stream().mapToLong(result -> ((Page<?>) result).getTotalElements()).sum();
+                return new PageImpl<>(content, pageable != null ? pageable : Pageable.unpaged(), total);
+            }
+            if (Slice.class.isAssignableFrom(returnType)) {
+                boolean hasNext = results.stream().anyMatch(result -> ((Slice<?>) result).hasNext())
+                        || results.stream().mapToLong(result -> ((Slice<?>) result).getNumberOfElements()).sum() > skip + content.size();
+                return new SliceImpl<>(content, pageable != null ? pageable : Pageable.unpaged(), hasNext);
+            }
+            return content;
+        }
+        return results.stream().filter(result -> result != null).findFirst().orElse(null);
+    }
+
+    // Pulls only the rows that end up in the result from the merge, instead of merging everything first
+    private static List<Object> merge(List<Object> results, Comparator<Object> order, long skip, int max) {
+        List<Iterator<?>> inputs = new ArrayList<>();
+        long available = 0;
+        for (Object result : results) {
+            Iterable<?> rows = result instanceof Slice<?> slice ? slice.getContent() : (Iterable<?>) result;
+            inputs.add(rows.iterator());
+            available += rows instanceof Collection<?> collection ? collection.size() : 0;
+        }
+        // Unordered results may come out in any order
+        Iterator<Object> merged = new MergingIterator<>(inputs, order != null ? order : (left, right) -> 0);
+
+        for (long i = 0; i < skip && merged.hasNext(); i++) {
+            merged.next();
+        }
+        List<Object> content = new ArrayList<>((int) Math.max(0, Math.min(max, available - skip)));
+        while (content.size() < max && merged.hasNext()) {
+            content.add(merged.next());
+        }
+        return content;
+    }
+
+    private static <T> T argument(Object[] args, Class<T> type) {
+        return Arrays.stream(args).filter(type::isInstance).map(type::cast).findFirst().orElse(null);
+    }
+
+    private static void replaceArgument(Object[] args, Class<?> type, Object value) {
+        for (int i = 0; i < args.length; i++) {
+            if (type.isInstance(args[i])) {
+                args[i] = value;
+            }
+        }
+    }
+
+    private Object onShard(int shard, Method method, Object[] args) throws Exception {
+        return ShardContext.callOn(shard, () -> invokeTarget(method, args));
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String shardKey(Object item) {
+        if (item instanceof Persistable<?> entity && entity.getId() instanceof String userId) {
+            return userId;
+        }
+        if (item instanceof String userId) {
+            return userId;
+        }
+        throw new IllegalArgumentException("Can't determine the shard of " + item);
+    }
+
+    private static Sort orderOf(Method method, Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Sort sort && sort.isSorted()) {
+                return sort;
+            }
+            if (arg instanceof Pageable pageable && pageable.getSort().isSorted()) {
+                return pageable.getSort();
+            }
+        }
+        return orderOfName(method);
+    }
+
+    private static Sort orderOfName(Method method) {
+        String name = method.getName();
+        int orderBy = name.indexOf("OrderBy");
+        if (orderBy < 0) {
+            return null;
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String clause : name.substring(orderBy + "OrderBy".length()).split("(?<=Asc)|(?<=Desc)")) {
+            boolean descending = clause.endsWith("Desc");
+            String property = clause.replaceAll("(Asc|Desc)$", "");
+            if (!property.isEmpty()) {
+                orders.add(new Sort.Order(descending ? Sort.Direction.DESC : Sort.Direction.ASC,
+                        StringUtils.uncapitalize(property)));
+            }
+        }
+        return orders.isEmpty() ? null : Sort.by(orders);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object> propertyOrder(Sort sort) {
+        Comparator<Object> order = (left, right) -> 0;
+        for (Sort.Order sortOrder : sort) {
+            String property = sortOrder.getProperty();
+            Comparator<Object> byProperty = Comparator.comparing(
+                    value -> (Comparable) property(value, property),
+                    Comparator.nullsLast((left, right) -> left instanceof String leftText && right instanceof String rightText
+                            ? CODE_POINT_ORDER.compare(leftText, rightText)
+                            : left.compareTo(right)));
+            order = order.thenComparing(sortOrder.isDescending() ? byProperty.reversed() : byProperty);
+        }
+        return order;
+    }
+
+    private static Object property(Object value, String property) {
+        if (value instanceof Map<?, ?> map) {
+            return map.get(property);
+        }
+        Method getter = GETTERS.computeIfAbsent(value.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(property, name -> {
+                    PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(value.getClass(), name);
+                    if (descriptor == null || descriptor.getReadMethod() == null) {
+                        throw new IllegalArgumentException("No property " + name + " on " + value.getClass());
+                    }
+                    return descriptor.getReadMethod();
+                });
+        try {
+            return getter.invoke(value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not read " + property, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.persistance.sharding;
+
+import org.example.persistance.converter.UuidStringType;
+
+import java.util.UUID;
+
+/**
+ * Maps a Keycloak user id to its shard. With a single shard every id maps to 0.
+ */
+public class UserShardResolver {
+
+    private final int shardCount;
+
+    public UserShardResolver(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String userId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        // String.hashCode is fixed by the language spec, so placement survives restarts and upgrades;
+        // the finalizer spreads the similar-looking hashes of UUID strings across shards.
+        // Ids are hashed in the lowercase form the uuid column stores, so ABC... and abc... share a shard.
+        int hash = UuidStringType.parse(userId).map(UUID::toString).orElse(userId).hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shardCount);
+    }
+}
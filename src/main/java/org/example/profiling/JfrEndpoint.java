@@ -0,0 +1,205 @@
+package org.example.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-boxed Java Flight Recorder sessions on the running service.
+ * <p>
+ * {@code POST /actuator/jfr} starts a recording of the default duration and {@code POST /actuator/jfr/{seconds}}
+ * one of the given length, with the JDK's {@code profile} settings plus allocation sampling and lock events, minus
+ * the events that would copy secrets into the file. {@code GET /actuator/jfr} lists recent recordings with a
+ * summary of our hottest methods, allocation sites and contended locks once a recording has finished,
+ * and {@code GET /actuator/jfr/{id}} downloads the {@code .jfr} file for JDK Mission Control.
+ * Only one recording runs at a time; older finished ones are deleted beyond the retained count.
+ */
+@Slf4j
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    // The profile settings record the environment, system properties and command lines, which hold the
+    // database password and the Keycloak client secret; recordings are downloadable, so these stay off
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess");
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final Duration lockThreshold;
+    private final int retainedRecordings;
+    private final int topEntries;
+
+    private final Map<String, Session> sessions = new LinkedHashMap<>();
+
+    public JfrEndpoint(Duration defaultDuration, Duration maxDuration, Duration lockThreshold,
+                       int retainedRecordings, int topEntries) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.lockThreshold = lockThreshold;
+        this.retainedRecordings = retainedRecordings;
+        this.topEntries = topEntries;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingStatus> start() {
+        return start(defaultDuration);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingStatus> startFor(@Selector long durationSeconds) {
+        return start(Duration.ofSeconds(durationSeconds));
+    }
+
+    private synchronized WebEndpointResponse<RecordingStatus> start(Duration duration) {
+        for (Session session : sessions.values()) {
+            if (!session.isFinished()) {
+                return new WebEndpointResponse<>(session.status(), STATUS_CONFLICT);
+            }
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Session session = startRecording(duration);
+        sessions.put(session.id, session);
+        evictOldRecordings();
+        log.info("Started JFR recording {} for {}s", session.id, duration.toSeconds());
+        return new WebEndpointResponse<>(session.status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized List<RecordingStatus> recordings() {
+        List<RecordingStatus> statuses = new ArrayList<>();
+        sessions.values().forEach(session -> statuses.add(session.status()));
+        return statuses;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> recording(@Selector String id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (!session.isFinished()) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(session.file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        sessions.values().forEach(Session::discard);
+        sessions.clear();
+    }
+
+    private Session startRecording(Duration duration) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("user-service-", ".jfr");
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.enable("jdk.ObjectAllocationSample").withStackTrace();
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(lockThreshold).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(lockThreshold).withStackTrace();
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setName("user-service-" + recording.getId());
+            recording.setDuration(duration);
+            recording.setDestination(file);
+            recording.start();
+            return new Session(String.valueOf(recording.getId()), recording, file, Instant.now(), duration);
+        } catch (IOException | ParseException e) {
+            deleteQuietly(file);
+            throw new IllegalStateException("Could not start JFR recording: " + e.getMessage(), e);
+        }
+    }
+
+    private void evictOldRecordings() {
+        while (sessions.size() > retainedRecordings) {
+            String oldest = sessions.keySet().iterator().next();
+            sessions.remove(oldest).discard();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete JFR file {}: {}", file, e.getMessage());
+        }
+    }
+
+    public record RecordingStatus(String id, String state, Instant startedAt, long durationSeconds,
+                                  Long sizeBytes, RecordingSummary summary) {
+    }
+
+    private final class Session {
+        private final String id;
+        private final Recording recording;
+        private final Path file;
+        private final Instant startedAt;
+        private final Duration duration;
+        private RecordingSummary summary;
+
+        private Session(String id, Recording recording, Path file, Instant startedAt, Duration duration) {
+            this.id = id;
+            this.recording = recording;
+            this.file = file;
+            this.startedAt = startedAt;
+            this.duration = duration;
+        }
+
+        // The file is written before the recording leaves RUNNING
+        private boolean isFinished() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.STOPPED || state == RecordingState.CLOSED;
+        }
+
+        private RecordingStatus status() {
+            if (!isFinished()) {
+                return new RecordingStatus(id, recording.getState().name(), startedAt, duration.toSeconds(), null, null);
+            }
+            try {
+                if (summary == null) {
+                    summary = RecordingSummary.read(file, topEntries);
+                }
+                return new RecordingStatus(id, RecordingState.STOPPED.name(), startedAt, duration.toSeconds(),
+                        Files.size(file), summary);
+            } catch (IOException e) {
+                log.warn("Could not read JFR recording {}: {}", id, e.getMessage());
+                return new RecordingStatus(id, "UNREADABLE", startedAt, duration.toSeconds(), null, null);
+            }
+        }
+
+        private void discard() {
+            recording.close();
+            deleteQuietly(file);
+        }
+    }
+}
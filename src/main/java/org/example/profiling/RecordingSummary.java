@@ -0,0 +1,114 @@
+package org.example.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * What a recording says about our own code. Each event is attributed to the innermost stack frame
+ * in {@code org.example}, so time spent in Hibernate or Jackson shows up at the call site that asked for it.
+ */
+public record RecordingSummary(long executionSamples,
+                               long sampledAllocationBytes,
+                               List<HotMethod> hotMethods,
+                               List<AllocationSite> allocationSites,
+                               List<LockSite> lockSites) {
+
+    private static final String APP_PACKAGE = "org.example.";
+
+    public record HotMethod(String method, long samples) {
+    }
+
+    public record AllocationSite(String location, long bytes) {
+    }
+
+    public record LockSite(String location, long events, long blockedMs) {
+    }
+
+    static RecordingSummary read(Path file, int top) throws IOException {
+        long executionSamples = 0;
+        long allocationBytes = 0;
+        Map<String, Long> samplesByMethod = new HashMap<>();
+        Map<String, Long> bytesBySite = new HashMap<>();
+        Map<String, long[]> locksBySite = new HashMap<>();
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        RecordedFrame frame = appFrame(event);
+                        if (frame != null) {
+                            samplesByMethod.merge(method(frame), 1L, Long::sum);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        allocationBytes += weight;
+                        RecordedFrame frame = appFrame(event);
+                        if (frame != null) {
+                            bytesBySite.merge(location(frame), weight, Long::sum);
+                        }
+                    }
+                    case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> {
+                        RecordedFrame frame = appFrame(event);
+                        if (frame != null) {
+                            long[] totals = locksBySite.computeIfAbsent(location(frame), key -> new long[2]);
+                            totals[0]++;
+                            totals[1] += event.getDuration().toMillis();
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        return new RecordingSummary(executionSamples, allocationBytes,
+                top(samplesByMethod, Map.Entry::getValue, top).stream()
+                        .map(entry -> new HotMethod(entry.getKey(), entry.getValue())).toList(),
+                top(bytesBySite, Map.Entry::getValue, top).stream()
+                        .map(entry -> new AllocationSite(entry.getKey(), entry.getValue())).toList(),
+                top(locksBySite, entry -> entry.getValue()[1], top).stream()
+                        .map(entry -> new LockSite(entry.getKey(), entry.getValue()[0], entry.getValue()[1])).toList());
+    }
+
+    private static RecordedFrame appFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    private static String method(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String location(RecordedFrame frame) {
+        return method(frame) + ":" + frame.getLineNumber();
+    }
+
+    private static <V> List<Map.Entry<String, V>> top(Map<String, V> totals,
+                                                     ToLongFunction<Map.Entry<String, V>> weight, int limit) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong(weight).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.reconciliation;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link KeycloakUserSource} over the Keycloak admin REST API, with one client reused for every call.
+ */
+@Component
+public class AdminClientKeycloakUserSource implements KeycloakUserSource {
+
+    private final Keycloak keycloak;
+    private final String realm;
+
+    public AdminClientKeycloakUserSource(@Value("${keycloak.url}") String url,
+                                         @Value("${keycloak.realm}") String realm,
+                                         @Value("${keycloak.client-id}") String clientId,
+                                         @Value("${keycloak.client-secret}") String clientSecret) {
+        // Builds the client only; nothing is sent to Keycloak until the first call
+        this.keycloak = KeycloakBuilder.builder()
+                .serverUrl(url)
+                .realm(realm)
+                .clientId(clientId)
+                .clientSecret(clientSecret)
+                .grantType("client_credentials")
+                .build();
+        this.realm = realm;
+    }
+
+    @Override
+    public List<KeycloakUser> page(int first, int max) {
+        return users().search(null, first, max, true).stream()
+                .map(user -> new KeycloakUser(user.getId(), user.getUsername()))
+                .toList();
+    }
+
+    @Override
+    public boolean exists(String userId) {
+        try {
+            users().get(userId).toRepresentation();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete(String userId) {
+        try (Response response = users().delete(userId)) {
+            int status = response.getStatus();
+            if (status != Response.Status.NO_CONTENT.getStatusCode() && status != Response.Status.NOT_FOUND.getStatusCode()) {
+                throw new IllegalStateException("Keycloak answered " + status + " deleting user " + userId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        keycloak.close();
+    }
+
+    private UsersResource users() {
+        return keycloak.realm(realm).users();
+    }
+}
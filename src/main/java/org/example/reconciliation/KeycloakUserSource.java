@@ -0,0 +1,24 @@
+package org.example.reconciliation;
+
+import java.util.List;
+
+/**
+ * The Keycloak side of reconciliation, kept behind an interface so the job can run against a stand-in.
+ */
+public interface KeycloakUserSource {
+
+    /**
+     * @return up to {@code max} users starting at offset {@code first}, in Keycloak's listing order (by username)
+     */
+    List<KeycloakUser> page(int first, int max);
+
+    boolean exists(String userId);
+
+    /**
+     * Deletes the user; deleting a user that is already gone is not an error.
+     */
+    void delete(String userId);
+
+    record KeycloakUser(String id, String username) {
+    }
+}
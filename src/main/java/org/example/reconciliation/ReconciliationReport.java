@@ -0,0 +1,15 @@
+package org.example.reconciliation;
+
+/**
+ * Outcome of one reconciliation run.
+ *
+ * @param missingLocally Keycloak users without a local row or a tombstone; they haven't registered here yet
+ */
+public record ReconciliationReport(long keycloakUsers,
+                                   long localUsers,
+                                   long deletedLocally,
+                                   long deletedInKeycloak,
+                                   long missingLocally,
+                                   long failed,
+                                   long durationMs) {
+}
@@ -0,0 +1,343 @@
+package org.example.reconciliation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.UserService;
+import org.example.persistance.UserDeletionRepository;
+import org.example.persistance.UserIdentityView;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserDeletionEntity;
+import org.example.reconciliation.KeycloakUserSource.KeycloakUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the local {@code users} table back in line with Keycloak, which owns the accounts.
+ * <p>
+ * Both sides are paged in username order and diffed with a streaming merge, so only one page of each
+ * is held at a time. A user only in Keycloak is deleted there if this service recorded deleting it
+ * (the {@code user.deleted} message was lost); without a tombstone it just hasn't registered yet.
+ * A user only in the table was deleted directly in Keycloak and is removed locally.
+ * <p>
+ * Keycloak and Postgres may collate usernames differently from each other, so a merge mismatch is only
+ * a candidate: every fix checks the other side for that one id first. Fixes run in parallel batches
+ * under a shared rate limit, to keep the load on Keycloak bounded.
+ */
+@Slf4j
+@Component
+public class UserReconciler {
+
+    private final KeycloakUserSource keycloak;
+    private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final UserService userService;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int batchSize;
+    private final int parallelism;
+    private final double fixesPerSecond;
+    private final int tombstoneRetentionDays;
+
+    private final Timer runTimer;
+    private final Counter deletedLocallyCounter;
+    private final Counter deletedInKeycloakCounter;
+    private final Counter failedCounter;
+
+    public UserReconciler(KeycloakUserSource keycloak,
+                          UserRepository userRepository,
+                          UserDeletionRepository userDeletionRepository,
+                          UserService userService,
+                          MeterRegistry meterRegistry,
+                          @Value("${user-service.reconciliation.enabled:false}") boolean enabled,
+                          @Value("${user-service.reconciliation.page-size:500}") int pageSize,
+                          @Value("${user-service.reconciliation.batch-size:100}") int batchSize,
+                          @Value("${user-service.reconciliation.parallelism:4}") int parallelism,
+                          @Value("${user-service.reconciliation.fixes-per-second:20}") double fixesPerSecond,
+                          @Value("${user-service.reconciliation.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.keycloak = keycloak;
+        this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
+        this.userService = userService;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.fixesPerSecond = fixesPerSecond;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+        this.runTimer = Timer.builder("user_service.reconciliation.run")
+                .description("Time to diff and fix Keycloak and the users table")
+                .register(meterRegistry);
+        this.deletedLocallyCounter = fixCounter(meterRegistry, "deleted_locally");
+        this.deletedInKeycloakCounter = fixCounter(meterRegistry, "deleted_in_keycloak");
+        this.failedCounter = fixCounter(meterRegistry, "failed");
+    }
+
+    @Scheduled(initialDelayString = "${user-service.reconciliation.interval-ms:3600000}",
+            fixedDelayString = "${user-service.reconciliation.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Reconciliation with Keycloak failed: {}", e.getMessage());
+        }
+    }
+
+    public synchronized ReconciliationReport reconcile() {
+        long start = System.nanoTime();
+        Run run = new Run();
+        try {
+            // Users deleted in Keycloak were already read, so later offsets shift back by that many
+            Iterator<KeycloakUser> remote = new Pages<>((last, read) -> keycloak.page(
+                    Math.toIntExact(read - run.deletedInKeycloak.sum()), pageSize));
+            Iterator<UserIdentityView> local = new Pages<>((last, read) -> userRepository.findByUsernameGreaterThanOrderByUsernameAsc(
+                    last == null ? "" : last.getUsername(), Limit.of(pageSize)));
+            merge(remote, local, run);
+            run.flush();
+            userDeletionRepository.deleteByDeletedAtBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        } finally {
+            run.close();
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        ReconciliationReport report = run.report(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Reconciled with Keycloak: {}", report);
+        return report;
+    }
+
+    private void merge(Iterator<KeycloakUser> remote, Iterator<UserIdentityView> local, Run run) {
+        KeycloakUser remoteUser = next(remote, run.keycloakUsers);
+        UserIdentityView localUser = next(local, run.localUsers);
+        while (remoteUser != null || localUser != null) {
+            int order = remoteUser == null ? 1
+                    : localUser == null ? -1
+                    : key(remoteUser.username()).compareTo(key(localUser.getUsername()));
+            if (order == 0 && remoteUser.id().equalsIgnoreCase(localUser.getId())) {
+                remoteUser = next(remote, run.keycloakUsers);
+                localUser = next(local, run.localUsers);
+            } else if (order <= 0) {
+                run.onlyInKeycloak(remoteUser.id());
+                remoteUser = next(remote, run.keycloakUsers);
+            } else {
+                run.onlyLocal(localUser.getId());
+                localUser = next(local, run.localUsers);
+            }
+        }
+    }
+
+    private static <T> T next(Iterator<T> side, LongAdder seen) {
+        if (!side.hasNext()) {
+            return null;
+        }
+        seen.increment();
+        return side.next();
+    }
+
+    // Keycloak keeps usernames in lower case
+    private static String key(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter fixCounter(MeterRegistry meterRegistry, String action) {
+        return Counter.builder("user_service.reconciliation.fixes")
+                .description("Differences between Keycloak and the users table, by how they were resolved")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pages through one side. The fetch gets the last element of the previous page, for keyset paging,
+     * and the number of elements read so far, for offset paging.
+     */
+    private final class Pages<T> implements Iterator<T> {
+        private final BiFunction<T, Long, List<T>> fetch;
+        private Iterator<T> page = Collections.emptyIterator();
+        private T last;
+        private long read;
+        private boolean exhausted;
+
+        private Pages(BiFunction<T, Long, List<T>> fetch) {
+            this.fetch = fetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !exhausted) {
+                List<T> rows = fetch.apply(last, read);
+                // A sharded repository merges one page per shard; only the first pageSize rows are contiguous
+                rows = rows.subList(0, Math.min(rows.size(), pageSize));
+                exhausted = rows.size() < pageSize;
+                page = rows.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public T next() {
+            last = page.next();
+            read++;
+            return last;
+        }
+    }
+
+    private final class Run {
+        private final LongAdder keycloakUsers = new LongAdder();
+        private final LongAdder localUsers = new LongAdder();
+        private final LongAdder deletedLocally = new LongAdder();
+        private final LongAdder deletedInKeycloak = new LongAdder();
+        private final LongAdder missingLocally = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private final List<String> onlyInKeycloak = new ArrayList<>();
+        private final List<String> onlyLocal = new ArrayList<>();
+        private final RateLimiter rateLimiter = new RateLimiter(fixesPerSecond);
+        private final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new NamedThreads());
+
+        private void onlyInKeycloak(String userId) {
+            onlyInKeycloak.add(userId);
+            if (onlyInKeycloak.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void onlyLocal(String userId) {
+            onlyLocal.add(userId);
+            if (onlyLocal.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            List<Callable<Void>> fixes = new ArrayList<>();
+            if (!onlyInKeycloak.isEmpty()) {
+                Set<String> tombstoned = userDeletionRepository.findAllById(onlyInKeycloak).stream()
+                        .map(UserDeletionEntity::getId)
+                        .collect(Collectors.toSet());
+                for (String userId : onlyInKeycloak) {
+                    if (tombstoned.contains(userId)) {
+                        fixes.add(fix(userId, () -> deleteInKeycloak(userId)));
+                    } else {
+                        missingLocally.increment();
+                    }
+                }
+            }
+            onlyLocal.forEach(userId -> fixes.add(fix(userId, () -> deleteLocally(userId))));
+            onlyInKeycloak.clear();
+            onlyLocal.clear();
+
+            try {
+                executor.invokeAll(fixes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fixing users", e);
+            }
+        }
+
+        private Callable<Void> fix(String userId, Runnable action) {
+            return () -> {
+                try {
+                    rateLimiter.acquire();
+                    action.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    failedCounter.increment();
+                    log.warn("Could not reconcile user {}: {}", userId, e.getMessage());
+                }
+                return null;
+            };
+        }
+
+        private void deleteInKeycloak(String userId) {
+            // Re-registered since the tombstone was written
+            if (userRepository.existsById(userId)) {
+                userDeletionRepository.deleteById(userId);
+                return;
+            }
+            keycloak.delete(userId);
+            userDeletionRepository.deleteById(userId);
+            deletedInKeycloak.increment();
+            deletedInKeycloakCounter.increment();
+            log.info("Deleted user {} in Keycloak, its deletion message was lost", userId);
+        }
+
+        private void deleteLocally(String userId) {
+            if (keycloak.exists(userId)) {
+                return;
+            }
+            if (userService.deleteLocalUser(userId)) {
+                deletedLocally.increment();
+                deletedLocallyCounter.increment();
+            }
+        }
+
+        private ReconciliationReport report(long durationMs) {
+            return new ReconciliationReport(keycloakUsers.sum(), localUsers.sum(), deletedLocally.sum(),
+                    deletedInKeycloak.sum(), missingLocally.sum(), failed.sum(), durationMs);
+        }
+
+        private void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Spaces out permits evenly; callers that find no permit free sleep until their reserved slot.
+     */
+    private static final class RateLimiter {
+        private final long intervalNanos;
+        private long nextFree = System.nanoTime();
+
+        private RateLimiter(double permitsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        }
+
+        private void acquire() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextFree);
+                nextFree = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    private static final class NamedThreads implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "user-reconciliation-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.timing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Time spent per phase ({@code db}, {@code amqp}, ...) by the current request thread.
+ * Timing calls outside a request, or on another thread, are passed through untimed.
+ * A phase started inside another timed phase is counted only once, as part of the outer one.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private int depth;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T time(String phase, Supplier<T> work) {
+        RequestTimings timings = enter();
+        if (timings == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.exit(phase, start);
+        }
+    }
+
+    public static void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Like {@link #time(String, Supplier)} for work that throws checked exceptions.
+     */
+    public static <T> T timeChecked(String phase, CheckedSupplier<T> work) throws Exception {
+        RequestTimings timings = enter();
+        if (timings == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.exit(phase, start);
+        }
+    }
+
+    private static RequestTimings enter() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null || timings.depth > 0) {
+            return null;
+        }
+        timings.depth++;
+        return timings;
+    }
+
+    private void exit(String phase, long startNanos) {
+        depth--;
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    void record(String phase, long nanos) {
+        phases.computeIfAbsent(phase, name -> new Phase()).add(nanos);
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    Map<String, Phase> phases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    static final class Phase {
+        private long nanos;
+        private int count;
+
+        private void add(long durationNanos) {
+            nanos += durationNanos;
+            count++;
+        }
+
+        long nanos() {
+            return nanos;
+        }
+
+        int count() {
+            return count;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CheckedSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a {@code Server-Timing} header with the time each phase of the request took, e.g.
+ * {@code db;dur=4.2;desc="3 calls", amqp;dur=1.1;desc="1 call", app;dur=2.0, total;dur=7.3}.
+ * The header is written when the response body starts, which for controller responses is after
+ * the service call returned. Phases are also recorded as Micrometer timers and can be logged.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private static final Logger SPAN_LOG = LoggerFactory.getLogger("server-timing");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean logSpans;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry, boolean logSpans) {
+        this.meterRegistry = meterRegistry;
+        this.logSpans = logSpans;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        TimingResponseWrapper timedResponse = new TimingResponseWrapper(response, timings);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            // Responses without a body, such as 204, haven't triggered the header yet
+            timedResponse.writeHeader();
+            RequestTimings.clear();
+            export(request, response, timings);
+        }
+    }
+
+    private void export(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        timings.phases().forEach((phase, timing) -> Timer.builder("user_service.request.phase")
+                .description("Time spent per phase of an HTTP request")
+                .tag("phase", phase)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timing.nanos(), TimeUnit.NANOSECONDS));
+
+        if (logSpans) {
+            SPAN_LOG.info("{} {} {} {}", request.getMethod(), uri, response.getStatus(), format(timings, " ", "="));
+        }
+    }
+
+    static String headerValue(RequestTimings timings) {
+        return format(timings, ", ", ";dur=");
+    }
+
+    private static String format(RequestTimings timings, String separator, String durationPrefix) {
+        StringJoiner value = new StringJoiner(separator);
+        long phasesNanos = 0;
+        for (Map.Entry<String, RequestTimings.Phase> entry : timings.phases().entrySet()) {
+            RequestTimings.Phase phase = entry.getValue();
+            phasesNanos += phase.nanos();
+            value.add(entry.getKey() + durationPrefix + millis(phase.nanos())
+                    + ";desc=\"" + phase.count() + (phase.count() == 1 ? " call\"" : " calls\""));
+        }
+        long totalNanos = timings.elapsedNanos();
+        value.add("app" + durationPrefix + millis(Math.max(0, totalNanos - phasesNanos)));
+        value.add("total" + durationPrefix + millis(totalNanos));
+        return value.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class TimingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean headerWritten;
+
+        private TimingResponseWrapper(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                headerWritten = true;
+                setHeader(HEADER, headerValue(timings));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
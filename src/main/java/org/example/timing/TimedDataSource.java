@@ -0,0 +1,103 @@
+package org.example.timing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Records JDBC round trips as the {@code db} phase of the current request: borrowing a connection,
+ * executing statements, and the transaction calls, so Hibernate's flush and the commit are counted
+ * whichever repository or transaction template issued them.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    public static final String PHASE = "db";
+
+    private static final Set<String> CONNECTION_ROUND_TRIPS =
+            Set.of("commit", "rollback", "setAutoCommit", "setReadOnly", "setTransactionIsolation", "close");
+
+    public TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timedConnection(time(() -> obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timedConnection(time(() -> obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static Connection timedConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TimedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new JdbcHandler(connection, method -> CONNECTION_ROUND_TRIPS.contains(method.getName())));
+    }
+
+    private static Object timedStatement(Class<?> type, Object statement) {
+        return Proxy.newProxyInstance(
+                TimedDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                new JdbcHandler(statement, method -> method.getName().startsWith("execute")));
+    }
+
+    private static <T> T time(RequestTimings.CheckedSupplier<T> work) throws SQLException {
+        try {
+            return RequestTimings.timeChecked(PHASE, work);
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private static final class JdbcHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Predicate<Method> timed;
+
+        private JdbcHandler(Object target, Predicate<Method> timed) {
+            this.target = target;
+            this.timed = timed;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = timed.test(method) ? time(() -> invokeTarget(method, args)) : invokeTarget(method, args);
+            // Statements are wrapped as the interface the caller asked for, e.g. PreparedStatement
+            if (result != null && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return timedStatement(method.getReturnType(), result);
+            }
+            return result;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Exception {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
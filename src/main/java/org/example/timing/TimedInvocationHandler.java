@@ -0,0 +1,46 @@
+package org.example.timing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Records every call on an interface as one phase of the current request.
+ */
+public class TimedInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+    private final String phase;
+
+    private TimedInvocationHandler(Object target, String phase) {
+        this.target = target;
+        this.phase = phase;
+    }
+
+    public static <T> T wrap(Class<T> type, T target, String phase) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new TimedInvocationHandler(target, phase)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeTarget(method, args);
+        }
+        return RequestTimings.timeChecked(phase, () -> invokeTarget(method, args));
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Schema as previously generated by Hibernate; existing databases are baselined at this version
+CREATE TABLE IF NOT EXISTS users (
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    roles      VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
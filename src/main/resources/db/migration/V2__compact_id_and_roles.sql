@@ -0,0 +1,25 @@
+-- The roles bitset below can only hold the names in org.example.persistance.entity.Role. Any other name
+-- (ADMIN, lowercase names, other gateway roles) stops the migration instead of being silently dropped
+DO $$
+DECLARE
+    unmapped TEXT;
+BEGIN
+    SELECT string_agg(DISTINCT role, ', ' ORDER BY role) INTO unmapped
+    FROM users, regexp_split_to_table(COALESCE(roles, ''), '[^A-Za-z_]+') AS role
+    WHERE role NOT IN ('', 'CAR_ENTHUSIAST', 'MECHANIC');
+    IF unmapped IS NOT NULL THEN
+        RAISE EXCEPTION 'users.roles holds roles the bitset cannot store: %', unmapped
+            USING HINT = 'Map or remove those names in users.roles, then run the migration again';
+    END IF;
+END $$;
+
+-- Keycloak ids become native uuid (16 bytes instead of a 36 character string in the key and every index)
+ALTER TABLE users ALTER COLUMN id TYPE UUID USING id::uuid;
+
+-- Roles become a bitset; bit values follow org.example.persistance.entity.Role
+ALTER TABLE users ALTER COLUMN roles TYPE INTEGER USING (
+      (CASE WHEN roles ~ '(^|[^A-Za-z_])CAR_ENTHUSIAST([^A-Za-z_]|$)' THEN 1 ELSE 0 END)
+    | (CASE WHEN roles ~ '(^|[^A-Za-z_])MECHANIC([^A-Za-z_]|$)' THEN 2 ELSE 0 END)
+);
+ALTER TABLE users ALTER COLUMN roles SET DEFAULT 0;
+ALTER TABLE users ALTER COLUMN roles SET NOT NULL;
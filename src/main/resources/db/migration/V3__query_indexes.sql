@@ -0,0 +1,9 @@
+-- Listing users in signup order, and keyset pagination over (created_at, id)
+CREATE INDEX IF NOT EXISTS users_created_at_id_idx ON users (created_at, id);
+
+-- Role filter: a role matches the few bitset values that contain its bit, queried as roles IN (...)
+CREATE INDEX IF NOT EXISTS users_roles_created_at_idx ON users (roles, created_at, id);
+
+-- Case-insensitive lookups by email and username
+CREATE INDEX IF NOT EXISTS users_email_lower_idx ON users (lower(email));
+CREATE INDEX IF NOT EXISTS users_username_lower_idx ON users (lower(username));
@@ -0,0 +1,8 @@
+-- Accounts deleted through this service. Reconciliation uses them to tell a Keycloak user whose
+-- deletion was lost from one that simply hasn't registered here yet
+CREATE TABLE IF NOT EXISTS user_deletions (
+    id         UUID NOT NULL PRIMARY KEY,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS user_deletions_deleted_at_idx ON user_deletions (deleted_at);
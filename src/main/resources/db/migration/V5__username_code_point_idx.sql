@@ -0,0 +1,2 @@
+-- Keyset pages over usernames in code point order, which the reconciliation with Keycloak walks
+CREATE INDEX IF NOT EXISTS users_username_ucs_basic_idx ON users (username COLLATE ucs_basic);
@@ -0,0 +1,58 @@
+package org.example.business.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyStore Unit Tests")
+class IdempotencyStoreTest {
+
+    @Test
+    @DisplayName("Happy Flow: Should return stored value for a known key")
+    void get_WhenKeyStored_ShouldReturnValue() {
+        IdempotencyStore store = new IdempotencyStore(10, 60_000);
+
+        store.put("register:user1:abc", "response");
+
+        assertThat(store.contains("register:user1:abc")).isTrue();
+        assertThat(store.get("register:user1:abc", String.class)).contains("response");
+        assertThat(store.get("register:user1:other", String.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should evict the oldest entry when full")
+    void put_WhenFull_ShouldEvictOldest() {
+        IdempotencyStore store = new IdempotencyStore(2, 60_000);
+
+        store.put("a", 1);
+        store.put("b", 2);
+        store.put("c", 3);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.contains("a")).isFalse();
+        assertThat(store.contains("b")).isTrue();
+        assertThat(store.contains("c")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should treat expired entries as absent")
+    void get_WhenExpired_ShouldReturnEmpty() {
+        IdempotencyStore store = new IdempotencyStore(10, 0);
+
+        store.put("user.deleted:msg-1", Boolean.TRUE);
+
+        assertThat(store.contains("user.deleted:msg-1")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should ignore values of another type")
+    void get_WithWrongType_ShouldReturnEmpty() {
+        IdempotencyStore store = new IdempotencyStore(10, 60_000);
+
+        store.put("key", Boolean.TRUE);
+
+        assertThat(store.get("key", String.class)).isEmpty();
+    }
+}
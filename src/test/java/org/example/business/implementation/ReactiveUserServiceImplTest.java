@@ -0,0 +1,114 @@
+package org.example.business.implementation;
+
+import org.example.persistance.ReactiveUserRepository;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveUserServiceImpl Unit Tests")
+class ReactiveUserServiceImplTest {
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @InjectMocks
+    private ReactiveUserServiceImpl reactiveUserService;
+
+    @Test
+    @DisplayName("Happy Flow: Should stream all users mapped to response DTOs")
+    void getAllUsers_WithoutFilter_ShouldStreamAll() {
+        // Arrange
+        when(reactiveUserRepository.findAllByOrderByCreatedAtAscIdAsc())
+                .thenReturn(Flux.just(user("user1", "john"), user("user2", "maria")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.getAllUsers(null))
+                .expectNextMatches(dto -> dto.getId().equals("user1") && dto.getUsername().equals("john"))
+                .expectNextMatches(dto -> dto.getId().equals("user2") && dto.getRoles().equals("CAR_ENTHUSIAST"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should pass demand through to the repository")
+    void getAllUsers_ShouldRespectBackpressure() {
+        // Arrange
+        when(reactiveUserRepository.findAllByOrderByCreatedAtAscIdAsc())
+                .thenReturn(Flux.range(1, 100).map(i -> user("user" + i, "user" + i)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.getAllUsers(""), 2)
+                .expectNextCount(2)
+                .thenRequest(1)
+                .expectNextMatches(dto -> dto.getId().equals("user3"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should filter by the masks containing the role")
+    void getAllUsers_WithRole_ShouldQueryMasks() {
+        // Arrange
+        when(reactiveUserRepository.findAllWithRolesOrderByCreatedAtAscIdAsc(Role.MECHANIC.masksContaining()))
+                .thenReturn(Flux.just(user("user1", "john")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.getAllUsers("MECHANIC"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should return nothing for an unknown role")
+    void getAllUsers_WithUnknownRole_ShouldBeEmpty() {
+        StepVerifier.create(reactiveUserService.getAllUsers("PILOT")).verifyComplete();
+
+        verifyNoInteractions(reactiveUserRepository);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should look up a batch of users")
+    void getUsers_ShouldReturnFoundUsers() {
+        // Arrange
+        when(reactiveUserRepository.findAllById(List.of("user1", "missing"))).thenReturn(Flux.just(user("user1", "john")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.getUsers(List.of("user1", "missing")))
+                .expectNextMatches(dto -> dto.getId().equals("user1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should complete empty for an unknown user")
+    void getUser_WhenMissing_ShouldBeEmpty() {
+        when(reactiveUserRepository.findById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveUserService.getUser("missing")).verifyComplete();
+    }
+
+    private static UserEntity user(String id, String username) {
+        return UserEntity.builder()
+                .id(id)
+                .email(username + "@example.com")
+                .username(username)
+                .firstName("First")
+                .lastName("Last")
+                .roles("CAR_ENTHUSIAST")
+                .createdAt(LocalDateTime.now())
+                .newEntity(false)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserRequestDto;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserEntity;
+import org.example.persistance.sharding.UserShardResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegistrationBatcher Unit Tests")
+class RegistrationBatcherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RegistrationBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        batcher = new RegistrationBatcher(userRepository, transactionTemplate, new UserShardResolver(1), eventPublisher, true, 5, 64, 1000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should save a batch in one transaction and complete every caller")
+    void flush_WithSeveralUsers_ShouldCommitOnce() {
+        // Arrange
+        UserEntity existing = UserEntity.builder().id("user1").email("old@test.com").username("old").build();
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(existing));
+        when(userRepository.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<UserEntity>>getArgument(0)));
+
+        RegistrationBatcher.PendingRegistration first = pending("user1", "new@test.com");
+        RegistrationBatcher.PendingRegistration second = pending("user2", "user2@test.com");
+
+        // Act
+        batcher.flush(List.of(first, second));
+
+        // Assert
+        assertThat(first.result().join().getEmail()).isEqualTo("new@test.com");
+        assertThat(second.result().join().getId()).isEqualTo("user2");
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(userRepository, times(1)).saveAll(anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(any(UserRegisteredEvent.class));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should retry individually and fail only the broken registration")
+    void flush_WhenBatchFails_ShouldIsolateFailure() {
+        // Arrange
+        when(userRepository.findAllById(anyList())).thenReturn(List.of());
+        when(userRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<UserEntity> users = new ArrayList<>(invocation.<Collection<UserEntity>>getArgument(0));
+            if (users.stream().anyMatch(user -> user.getEmail().equals("duplicate@test.com"))) {
+                throw new RuntimeException("Unique constraint violated");
+            }
+            return users;
+        });
+
+        RegistrationBatcher.PendingRegistration good = pending("user1", "user1@test.com");
+        RegistrationBatcher.PendingRegistration bad = pending("user2", "duplicate@test.com");
+
+        // Act
+        batcher.flush(List.of(good, bad));
+
+        // Assert
+        assertThat(good.result().join().getId()).isEqualTo("user1");
+        assertThat(bad.result()).isCompletedExceptionally();
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should reject submissions when group commit is not running")
+    void submit_WhenNotStarted_ShouldFail() {
+        CompletableFuture<UserResponseDto> result = batcher.submit(request("user1", "user1@test.com"));
+
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should fail the batch on an Error and keep committing later registrations")
+    void submit_WhenFlushThrowsError_ShouldFailBatchAndSurvive() {
+        // Arrange
+        when(userRepository.findAllById(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(List.of());
+        when(userRepository.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<UserEntity>>getArgument(0)));
+        batcher.start();
+
+        // Act
+        CompletableFuture<UserResponseDto> failed = batcher.submit(request("user1", "user1@test.com"));
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(StackOverflowError.class);
+        CompletableFuture<UserResponseDto> later = batcher.submit(request("user2", "user2@test.com"));
+
+        // Assert
+        assertThat(later.join().getId()).isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should stop waiting for a registration after the await timeout")
+    void submit_WhenCommitHangs_ShouldTimeOut() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        batcher = new RegistrationBatcher(userRepository, transactionTemplate, new UserShardResolver(1), eventPublisher, true, 5, 64, 50);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        }).when(transactionTemplate).execute(any());
+        batcher.start();
+
+        // Act
+        CompletableFuture<UserResponseDto> result = batcher.submit(request("user1", "user1@test.com"));
+
+        // Assert
+        assertThatThrownBy(result::join).hasCauseInstanceOf(TimeoutException.class);
+        release.countDown();
+    }
+
+    private static RegistrationBatcher.PendingRegistration pending(String userId, String email) {
+        return new RegistrationBatcher.PendingRegistration(request(userId, email), new CompletableFuture<>());
+    }
+
+    private static UserRequestDto request(String userId, String email) {
+        return UserRequestDto.builder()
+                .userId(userId)
+                .email(email)
+                .firstName("John")
+                .lastName("Doe")
+                .username(userId)
+                .roles("CAR_ENTHUSIAST")
+                .build();
+    }
+}
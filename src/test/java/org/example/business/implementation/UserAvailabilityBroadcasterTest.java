@@ -0,0 +1,82 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.configuration.RabbitMQConfig;
+import org.example.persistance.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAvailabilityBroadcaster Unit Tests")
+class UserAvailabilityBroadcasterTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAvailabilityFilter availabilityFilter;
+    private UserAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any())).thenReturn(List.of());
+        availabilityFilter = new UserAvailabilityFilter(userRepository, 1000, 0.001, 100, 10);
+        availabilityFilter.rebuild();
+        broadcaster = new UserAvailabilityBroadcaster(rabbitTemplate, availabilityFilter);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should publish the email and username of a committed registration")
+    void onUserRegistered_ShouldPublishIdentity() {
+        // Act
+        broadcaster.onUserRegistered(new UserRegisteredEvent(UserResponseDto.builder()
+                .id("u1").email("new@example.com").username("newuser").build(), null));
+
+        // Assert
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.USER_EXCHANGE, RabbitMQConfig.USER_REGISTERED_ROUTING_KEY,
+                new UserAvailabilityBroadcaster.RegisteredIdentity("new@example.com", "newuser"));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should mark values registered on another instance as taken")
+    void onRegisteredElsewhere_ShouldAddToFilter() {
+        // Arrange
+        assertThat(availabilityFilter.mightContainEmail("remote@example.com")).isFalse();
+
+        // Act
+        broadcaster.onRegisteredElsewhere(new UserAvailabilityBroadcaster.RegisteredIdentity("Remote@Example.com", "RemoteUser"));
+
+        // Assert
+        assertThat(availabilityFilter.mightContainEmail("remote@example.com")).isTrue();
+        assertThat(availabilityFilter.mightContainUsername("remoteuser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should not fail a committed registration when the broker is down")
+    void onUserRegistered_WhenBrokerDown_ShouldOnlyWarn() {
+        // Arrange
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        // Act & Assert
+        assertThatCode(() -> broadcaster.onUserRegistered(new UserRegisteredEvent(UserResponseDto.builder()
+                .id("u1").email("new@example.com").username("newuser").build(), null)))
+                .doesNotThrowAnyException();
+    }
+}
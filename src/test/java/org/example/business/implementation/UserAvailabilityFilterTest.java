@@ -0,0 +1,112 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserIdentityView;
+import org.example.persistance.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAvailabilityFilter Unit Tests")
+class UserAvailabilityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Happy Flow: Should load every page of the table and match case-insensitively")
+    void rebuild_ShouldWalkTableByKeyset() {
+        // Arrange
+        when(userRepository.findByIdGreaterThanOrderByIdAsc("00000000-0000-0000-0000-000000000000", Limit.of(2)))
+                .thenReturn(List.of(identity("a", "john@example.com", "johndoe"), identity("b", "maria@example.com", "maria")));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc("b", Limit.of(2)))
+                .thenReturn(List.of(identity("c", "Andrei@Cars.ro", "Andrei")));
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository, 1000, 0.001, 2, 10);
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertThat(filter.mightContainEmail("JOHN@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("maria")).isTrue();
+        assertThat(filter.mightContainEmail("andrei@cars.ro")).isTrue();
+        assertThat(filter.mightContainUsername("andrei")).isTrue();
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should add registered users without a rebuild")
+    void onUserRegistered_ShouldAddValues() {
+        // Arrange
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any())).thenReturn(List.of());
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository, 1000, 0.001, 100, 10);
+        filter.rebuild();
+
+        // Act
+        filter.onUserRegistered(new UserRegisteredEvent(UserResponseDto.builder()
+                .id("u1").email("new@example.com").username("newuser").build(), null));
+
+        // Assert
+        assertThat(filter.mightContainEmail("new@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("NewUser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should answer maybe until the filters are loaded")
+    void mightContain_BeforeRebuild_ShouldBeTrue() {
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository, 1000, 0.001, 100, 10);
+
+        assertThat(filter.mightContainEmail("anyone@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("anyone")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should rebuild once enough users were deleted")
+    void rebuildIfStale_AfterDeletions_ShouldReload() {
+        // Arrange
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(anyString(), any())).thenReturn(List.of());
+        UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository, 1000, 0.001, 100, 2);
+        filter.rebuild();
+
+        // Act
+        filter.onUserDeleted(new UserDeletedEvent("u1", null));
+        filter.rebuildIfStale();
+        filter.onUserDeleted(new UserDeletedEvent("u2", null));
+        filter.rebuildIfStale();
+        filter.rebuildIfStale();
+
+        // Assert
+        verify(userRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyString(), any());
+    }
+
+    private static UserIdentityView identity(String id, String email, String username) {
+        return new UserIdentityView() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchIndex Unit Tests")
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAllByOrderByCreatedAtAscIdAsc()).thenReturn(List.of(
+                user("u1", "johndoe", "john.doe@example.com", "John", "Doe"),
+                user("u2", "johnny", "johnny@cars.ro", "Johnny", "Bravo"),
+                user("u3", "maria_ionescu", "maria@gmail.com", "Maria", "Ionescu")));
+        searchIndex = new UserSearchIndex(userRepository);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should rank exact term matches above prefix matches")
+    void search_WithPrefix_ShouldRankExactFirst() {
+        List<UserResponseDto> result = searchIndex.search("John", 10);
+
+        assertThat(result).extracting(UserResponseDto::getId).containsExactly("u1", "u2");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should match every word of a multi-word query")
+    void search_WithSeveralWords_ShouldIntersect() {
+        List<UserResponseDto> result = searchIndex.search("john bra", 10);
+
+        assertThat(result).extracting(UserResponseDto::getId).containsExactly("u2");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should find users despite a typo")
+    void search_WithTypo_ShouldFallBackToFuzzyMatch() {
+        List<UserResponseDto> result = searchIndex.search("ionesco", 10);
+
+        assertThat(result).extracting(UserResponseDto::getId).containsExactly("u3");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should follow registrations and deletions")
+    void search_AfterEvents_ShouldReflectChanges() {
+        searchIndex.onUserRegistered(new UserRegisteredEvent(UserResponseDto.builder()
+                .id("u4").username("mike_mech").email("mike@service.com").firstName("Mike").lastName("Mechanic").build(), null));
+        searchIndex.onUserDeleted(new UserDeletedEvent("u1", null));
+
+        assertThat(searchIndex.search("mike", 10)).extracting(UserResponseDto::getId).containsExactly("u4");
+        assertThat(searchIndex.search("john", 10)).extracting(UserResponseDto::getId).containsExactly("u2");
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should cap results and ignore blank queries")
+    void search_ShouldCapAndIgnoreBlank() {
+        assertThat(searchIndex.search("j", 1)).hasSize(1);
+        assertThat(searchIndex.search("   ", 10)).isEmpty();
+    }
+
+    private static UserEntity user(String id, String username, String email, String firstName, String lastName) {
+        return UserEntity.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .roles("CAR_ENTHUSIAST")
+                .build();
+    }
+}
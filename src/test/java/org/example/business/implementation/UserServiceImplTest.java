@@ -1,8 +1,14 @@
 package org.example.business.implementation;
 
+import org.example.business.dto.userDTO.UserAvailabilityResponseDto;
 import org.example.business.dto.userDTO.UserRequestDto;
 import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.UserDeletionRepository;
+import org.example.persistance.UserField;
 import org.example.persistance.UserRepository;
+import org.example.persistance.entity.Role;
 import org.example.persistance.entity.UserEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,9 +22,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,9 +51,30 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+
     @Mock
     private RabbitTemplate rabbitTemplate;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RegistrationBatcher registrationBatcher;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Mock
+    private UserStatistics userStatistics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -46,6 +83,9 @@ class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         testUserEntity = UserEntity.builder()
                 .id("user123")
                 .email("test@example.com")
@@ -112,7 +152,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2));
+        stubUserTable(Arrays.asList(user1, user2));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers(null);
@@ -121,7 +161,7 @@ class UserServiceImplTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo("user1");
         assertThat(result.get(1).getId()).isEqualTo("user2");
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllByOrderByCreatedAtAscIdAsc();
     }
 
     @Test
@@ -138,7 +178,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
+        stubUserTable(Collections.singletonList(user));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers("");
@@ -172,7 +212,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(mechanic, enthusiast));
+        stubUserTable(Arrays.asList(mechanic, enthusiast));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers("MECHANIC");
@@ -218,7 +258,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(mechanic, enthusiast, both));
+        stubUserTable(Arrays.asList(mechanic, enthusiast, both));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers(roleFilter);
@@ -252,7 +292,7 @@ class UserServiceImplTest {
                 .createdAt(now)
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
+        stubUserTable(Collections.singletonList(user));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers(null);
@@ -275,7 +315,7 @@ class UserServiceImplTest {
     @DisplayName("Unhappy Flow: Should handle repository exception when getting all users")
     void getAllUsers_WhenRepositoryThrowsException_ShouldPropagateException() {
         // Arrange
-        when(userRepository.findAll())
+        when(userRepository.findAllByOrderByCreatedAtAscIdAsc())
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // Act & Assert
@@ -290,14 +330,14 @@ class UserServiceImplTest {
     @DisplayName("Edge Case: Should return empty list when no users exist")
     void getAllUsers_WhenNoUsers_ShouldReturnEmptyList() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        stubUserTable(Collections.emptyList());
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers(null);
 
         // Assert
         assertThat(result).isEmpty();
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllByOrderByCreatedAtAscIdAsc();
     }
 
     @Test
@@ -314,7 +354,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
+        stubUserTable(Collections.singletonList(user));
 
         // Act
         List<UserResponseDto> result = userService.getAllUsers("ADMIN");
@@ -347,7 +387,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(userWithRole, userWithoutRole));
+        stubUserTable(Arrays.asList(userWithRole, userWithoutRole));
 
         // Act
         List<UserResponseDto> resultAll = userService.getAllUsers(null);
@@ -373,7 +413,7 @@ class UserServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
+        stubUserTable(Collections.singletonList(user));
 
         // Act
         List<UserResponseDto> resultUppercase = userService.getAllUsers("MECHANIC");
@@ -481,6 +521,111 @@ class UserServiceImplTest {
         assertThat(capturedEntity.getLastName()).isEqualTo("Doe");
     }
 
+    @Test
+    @DisplayName("Happy Flow: Should share one transaction between concurrent registrations of the same user")
+    void registerUser_WhenCalledConcurrently_ShouldCoalesceIntoOneSave() throws Exception {
+        // Arrange
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        when(userRepository.existsById("user123")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            return testUserEntity;
+        });
+
+        // Act
+        CompletableFuture<UserResponseDto> first = CompletableFuture.supplyAsync(() -> userService.registerUser(testRequestDto));
+        assertThat(saveStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserResponseDto> second = CompletableFuture.supplyAsync(() -> userService.registerUser(testRequestDto));
+        Thread.sleep(100);
+        releaseSave.countDown();
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("user123");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get());
+        verify(userRepository, times(1)).save(any(UserEntity.class));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should propagate the shared failure to a coalesced caller")
+    void registerUser_WhenSharedRegistrationFails_ShouldFailAllCallers() throws Exception {
+        // Arrange
+        CountDownLatch saveStarted = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        when(userRepository.existsById("user123")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
+            saveStarted.countDown();
+            releaseSave.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("Database connection failed");
+        });
+
+        // Act
+        CompletableFuture<UserResponseDto> first = CompletableFuture.supplyAsync(() -> userService.registerUser(testRequestDto));
+        assertThat(saveStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserResponseDto> second = CompletableFuture.supplyAsync(() -> userService.registerUser(testRequestDto));
+        Thread.sleep(100);
+        releaseSave.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Database connection failed");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Database connection failed");
+        verify(userRepository, times(1)).save(any(UserEntity.class));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should publish a registration event with the saved user")
+    void registerUser_ShouldPublishRegisteredEvent() {
+        // Arrange
+        ArgumentCaptor<UserRegisteredEvent> eventCaptor = ArgumentCaptor.forClass(UserRegisteredEvent.class);
+        when(userRepository.existsById("user123")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenReturn(testUserEntity);
+
+        // Act
+        userService.registerUser(testRequestDto);
+
+        // Assert
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getUser().getId()).isEqualTo("user123");
+        assertThat(eventCaptor.getValue().getPrevious()).isNull();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should include the previous state when an existing user is updated")
+    void registerUser_WhenUpdating_ShouldPublishPreviousState() {
+        // Arrange
+        ArgumentCaptor<UserRegisteredEvent> eventCaptor = ArgumentCaptor.forClass(UserRegisteredEvent.class);
+        UserEntity existing = UserEntity.builder().id("user123").email("old@example.com").username("johndoe")
+                .firstName("John").lastName("Doe").roles("CAR_ENTHUSIAST").build();
+        when(userRepository.existsById("user123")).thenReturn(true);
+        when(userRepository.findById("user123")).thenReturn(Optional.of(existing));
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        userService.registerUser(testRequestDto);
+
+        // Assert
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getPrevious().getEmail()).isEqualTo("old@example.com");
+        assertThat(eventCaptor.getValue().getUser().getEmail()).isEqualTo(testRequestDto.getEmail());
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should return the roles as they are stored")
+    void registerUser_ShouldReturnStoredRoles() {
+        // Arrange
+        testRequestDto.setRoles("MECHANIC, CAR_ENTHUSIAST,MECHANIC");
+        when(userRepository.existsById("user123")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        UserResponseDto result = userService.registerUser(testRequestDto);
+
+        // Assert
+        assertThat(result.getRoles()).isEqualTo("CAR_ENTHUSIAST,MECHANIC");
+    }
+
     // ==================== HAPPY FLOW - DELETE ACCOUNT ====================
 
     @Test
@@ -488,7 +633,7 @@ class UserServiceImplTest {
     void deleteAccount_WhenUserExists_ShouldDeleteAndPublishEvent() {
         // Arrange
         String userId = "user123";
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doNothing().when(userRepository).deleteById(userId);
         doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), anyString());
 
@@ -496,11 +641,170 @@ class UserServiceImplTest {
         assertThatCode(() -> userService.deleteAccount(userId))
                 .doesNotThrowAnyException();
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).deleteById(userId);
         verify(rabbitTemplate, times(1)).convertAndSend("user.exchange", "user.deleted", userId);
     }
 
+    @Test
+    @DisplayName("Happy Flow: Should publish a deletion event")
+    void deleteAccount_ShouldPublishDeletedEvent() {
+        // Arrange
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUserEntity));
+
+        // Act
+        userService.deleteAccount("user123");
+
+        // Assert
+        verify(eventPublisher).publishEvent(new UserDeletedEvent("user123", UserMapper.toResponseDto(testUserEntity)));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should record a tombstone for the deleted account")
+    void deleteAccount_ShouldRecordTombstone() {
+        // Arrange
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUserEntity));
+
+        // Act
+        userService.deleteAccount("user123");
+
+        // Assert
+        verify(userDeletionRepository).save(argThat(deletion ->
+                deletion.getId().equals("user123") && deletion.getDeletedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should remove a user deleted in Keycloak without notifying Keycloak")
+    void deleteLocalUser_WhenUserExists_ShouldDeleteWithoutMessage() {
+        // Arrange
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUserEntity));
+
+        // Act
+        boolean deleted = userService.deleteLocalUser("user123");
+
+        // Assert
+        assertThat(deleted).isTrue();
+        verify(userRepository).deleteById("user123");
+        verify(eventPublisher).publishEvent(new UserDeletedEvent("user123", UserMapper.toResponseDto(testUserEntity)));
+        verifyNoInteractions(rabbitTemplate, userDeletionRepository);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should do nothing when the user is already gone")
+    void deleteLocalUser_WhenUserMissing_ShouldReturnFalse() {
+        when(userRepository.findById("user123")).thenReturn(Optional.empty());
+
+        assertThat(userService.deleteLocalUser("user123")).isFalse();
+        verify(userRepository, never()).deleteById(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should delegate search to the index")
+    void searchUsers_ShouldUseIndex() {
+        // Arrange
+        when(userSearchIndex.search("john", 10)).thenReturn(List.of(UserResponseDto.builder().id("user123").build()));
+
+        // Act
+        List<UserResponseDto> result = userService.searchUsers("john", 10);
+
+        // Assert
+        assertThat(result).extracting(UserResponseDto::getId).containsExactly("user123");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should return only the requested fields")
+    void getAllUsers_WithFields_ShouldReturnRequestedFieldsOnly() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "user123");
+        row.put("username", "johndoe");
+        row.put("createdAt", LocalDateTime.now());
+        Set<UserField> fields = UserField.parse("id,username");
+        when(userRepository.findFieldsOrderByCreatedAtAscIdAsc(fields, null)).thenReturn(List.of(row));
+
+        // Act
+        List<Map<String, Object>> result = userService.getAllUsers(null, fields);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).containsOnlyKeys("id", "username").containsEntry("username", "johndoe");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should pass the role masks to the projection query")
+    void getAllUsers_WithFieldsAndRole_ShouldFilterByRoleMasks() {
+        // Arrange
+        Set<UserField> fields = UserField.parse("id");
+        when(userRepository.findFieldsOrderByCreatedAtAscIdAsc(fields, Role.MECHANIC.masksContaining())).thenReturn(List.of());
+
+        // Act
+        List<Map<String, Object>> result = userService.getAllUsers("MECHANIC", fields);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(userRepository).findFieldsOrderByCreatedAtAscIdAsc(fields, Role.MECHANIC.masksContaining());
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should reject unknown fields")
+    void parseFields_WithUnknownField_ShouldThrow() {
+        assertThatThrownBy(() -> UserField.parse("id,password"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: password");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should report values ruled out by the filter as available without a query")
+    void checkAvailability_WhenFilterRulesOut_ShouldNotQueryDatabase() {
+        // Arrange
+        when(availabilityFilter.mightContainEmail("new@example.com")).thenReturn(false);
+        when(availabilityFilter.mightContainUsername("newuser")).thenReturn(false);
+
+        // Act
+        UserAvailabilityResponseDto result = userService.checkAvailability(" new@example.com ", "newuser");
+
+        // Assert
+        assertThat(result.getEmail()).isEqualTo("new@example.com");
+        assertThat(result.getEmailAvailable()).isTrue();
+        assertThat(result.getUsernameAvailable()).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should confirm possible matches against the database")
+    void checkAvailability_WhenFilterMightContain_ShouldQueryDatabase() {
+        // Arrange
+        when(availabilityFilter.mightContainEmail("john@example.com")).thenReturn(true);
+        when(availabilityFilter.mightContainUsername("johndoe")).thenReturn(true);
+        when(userRepository.existsByEmailIgnoreCase("john@example.com")).thenReturn(true);
+        when(userRepository.existsByUsernameIgnoreCase("johndoe")).thenReturn(false);
+
+        // Act
+        UserAvailabilityResponseDto result = userService.checkAvailability("john@example.com", "johndoe");
+
+        // Assert
+        assertThat(result.getEmailAvailable()).isFalse();
+        assertThat(result.getUsernameAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should only check the values that were given")
+    void checkAvailability_WithUsernameOnly_ShouldLeaveEmailEmpty() {
+        // Arrange
+        when(availabilityFilter.mightContainUsername("johndoe")).thenReturn(false);
+
+        // Act
+        UserAvailabilityResponseDto result = userService.checkAvailability(null, "johndoe");
+
+        // Assert
+        assertThat(result.getEmail()).isNull();
+        assertThat(result.getEmailAvailable()).isNull();
+        assertThat(result.getUsernameAvailable()).isTrue();
+        verify(availabilityFilter, never()).mightContainEmail(any());
+    }
+
     @Test
     @DisplayName("Happy Flow: Should verify correct RabbitMQ event data")
     void deleteAccount_ShouldPublishCorrectEventData() {
@@ -510,7 +814,7 @@ class UserServiceImplTest {
         ArgumentCaptor<String> routingKeyCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doNothing().when(userRepository).deleteById(userId);
 
         // Act
@@ -533,7 +837,7 @@ class UserServiceImplTest {
     @DisplayName("Happy Flow: Should delete accounts with various valid user IDs")
     void deleteAccount_WithVariousUserIds_ShouldSucceed(String userId) {
         // Arrange
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doNothing().when(userRepository).deleteById(userId);
         doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), anyString());
 
@@ -591,14 +895,14 @@ class UserServiceImplTest {
     void deleteAccount_WhenUserNotFound_ShouldThrowException() {
         // Arrange
         String userId = "nonexistent-user";
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.deleteAccount(userId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("User not found");
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userRepository, times(1)).findById(userId);
         verify(userRepository, never()).deleteById(anyString());
         verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), anyString());
     }
@@ -608,7 +912,7 @@ class UserServiceImplTest {
     void deleteAccount_WhenRabbitMQFails_ShouldThrowException() {
         // Arrange
         String userId = "user123";
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doNothing().when(userRepository).deleteById(userId);
         doThrow(new RuntimeException("RabbitMQ connection failed"))
                 .when(rabbitTemplate).convertAndSend(anyString(), anyString(), anyString());
@@ -627,7 +931,7 @@ class UserServiceImplTest {
     void deleteAccount_WhenRepositoryDeleteFails_ShouldThrowException() {
         // Arrange
         String userId = "user123";
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doThrow(new RuntimeException("Database deletion failed"))
                 .when(userRepository).deleteById(userId);
 
@@ -644,7 +948,7 @@ class UserServiceImplTest {
     @DisplayName("Unhappy Flow: Should fail deletion for non-existent user IDs")
     void deleteAccount_WithNonExistentUserIds_ShouldThrowException(String userId) {
         // Arrange
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.deleteAccount(userId))
@@ -720,7 +1024,7 @@ class UserServiceImplTest {
     void deleteAccount_ImmediatelyAfterCreation_ShouldSucceed() {
         // Arrange
         String userId = "new-user-123";
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUserEntity));
         doNothing().when(userRepository).deleteById(userId);
         doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), anyString());
 
@@ -728,4 +1032,16 @@ class UserServiceImplTest {
         assertThatCode(() -> userService.deleteAccount(userId))
                 .doesNotThrowAnyException();
     }
+
+    // Serves both list queries from an in-memory table, applying the role filter like the database does
+    private void stubUserTable(List<UserEntity> users) {
+        lenient().when(userRepository.findAllByOrderByCreatedAtAscIdAsc()).thenReturn(users);
+        lenient().when(userRepository.findAllWithRolesOrderByCreatedAtAscIdAsc(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<Integer> roleMasks = invocation.getArgument(0);
+                    return users.stream()
+                            .filter(user -> roleMasks.contains(Role.maskOf(user.getRoles())))
+                            .toList();
+                });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package org.example.business.implementation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.example.business.UserService;
+import org.example.persistance.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserServiceWarmUp Unit Tests")
+class UserServiceWarmUpTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<DataSource> dataSourceProvider;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private MeterRegistry meterRegistry;
+    private UserServiceWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        warmUp = new UserServiceWarmUp(userService, userRepository, Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), dataSourceProvider, meterRegistry);
+        ReflectionTestUtils.setField(warmUp, "enabled", true);
+        ReflectionTestUtils.setField(warmUp, "budgetMs", 60000L);
+        ReflectionTestUtils.setField(warmUp, "poolConnections", 3);
+        ReflectionTestUtils.setField(warmUp, "mappingIterations", 20);
+        ReflectionTestUtils.setField(warmUp, "maxRounds", 2);
+        ReflectionTestUtils.setField(warmUp, "preloadUsers", 100);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should open the pool, run every round and record the steps")
+    void run_ShouldWarmConnectionsMappingAndReads() throws SQLException {
+        // Arrange
+        when(dataSourceProvider.getIfAvailable()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        // Act
+        warmUp.run(null);
+
+        // Assert
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(userRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyString(), any());
+        verify(userService, times(2)).getStatistics(30);
+        assertThat(meterRegistry.get("user_service.warmup").tag("step", "mapping").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("user_service.warmup").tag("step", "reads").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("user_service.warmup.rounds").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("user_service.warmup.total").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("user_service.warmup").tag("step", "total").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not borrow more connections than the pool may hold")
+    void run_WithSmallPool_ShouldCapConnectionsAtPoolSize() throws SQLException {
+        // Arrange
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.getMaximumPoolSize()).thenReturn(2);
+        when(dataSource.isWrapperFor(any())).thenAnswer(invocation -> invocation.getArgument(0) == HikariDataSource.class);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(dataSourceProvider.getIfAvailable()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        // Act
+        warmUp.run(null);
+
+        // Assert
+        verify(dataSource, times(2)).getConnection();
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should warm every pool behind a routing data source")
+    void run_WithRoutingDataSource_ShouldWarmEveryPool() throws SQLException {
+        // Arrange
+        DataSource replica = mock(DataSource.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(dataSourceProvider.getIfAvailable()).thenReturn(new LazyConnectionDataSourceProxy(routing(dataSource, replica)));
+
+        // Act
+        warmUp.run(null);
+
+        // Assert
+        verify(dataSource, times(3)).getConnection();
+        verify(replica, times(3)).getConnection();
+        verify(replicaConnection, times(3)).close();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep warming reads when only a replica is down")
+    void run_WhenOneOfSeveralPoolsFails_ShouldStillWarmReads() throws SQLException {
+        // Arrange
+        DataSource replica = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(dataSourceProvider.getIfAvailable()).thenReturn(routing(dataSource, replica));
+
+        // Act
+        warmUp.run(null);
+
+        // Assert
+        verify(userRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should skip reads but keep warming mapping when the database is down")
+    void run_WhenConnectionsFail_ShouldSkipReads() throws SQLException {
+        // Arrange
+        when(dataSourceProvider.getIfAvailable()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection).thenThrow(new SQLException("Connection refused"));
+
+        // Act
+        warmUp.run(null);
+
+        // Assert
+        verify(connection).close();
+        verifyNoInteractions(userRepository, userService);
+        assertThat(meterRegistry.get("user_service.warmup").tag("step", "mapping").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should do nothing when disabled")
+    void run_WhenDisabled_ShouldSkip() {
+        ReflectionTestUtils.setField(warmUp, "enabled", false);
+
+        warmUp.run(null);
+
+        verifyNoInteractions(dataSourceProvider, userRepository, userService);
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private static AbstractRoutingDataSource routing(DataSource primary, DataSource replica) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return "primary";
+            }
+        };
+        routing.setTargetDataSources(Map.of("primary", primary, 0, replica));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+}
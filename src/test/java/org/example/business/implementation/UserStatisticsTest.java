@@ -0,0 +1,134 @@
+package org.example.business.implementation;
+
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.dto.userDTO.UserStatsResponseDto;
+import org.example.business.event.UserDeletedEvent;
+import org.example.business.event.UserRegisteredEvent;
+import org.example.persistance.RoleCountView;
+import org.example.persistance.SignupDayCountView;
+import org.example.persistance.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserStatistics Unit Tests")
+class UserStatisticsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatistics statistics;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        when(userRepository.countByRoles()).thenReturn(List.of(
+                roleCount("CAR_ENTHUSIAST", 3),
+                roleCount("CAR_ENTHUSIAST,MECHANIC", 2)));
+        when(userRepository.countSignupsByDaySince(any())).thenReturn(List.of(
+                dayCount(today, 4),
+                dayCount(today.minusDays(1), 1)));
+        statistics = new UserStatistics(userRepository, 366);
+        statistics.reconcile();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should load counts from the grouped queries")
+    void reconcile_ShouldLoadCounts() {
+        UserStatsResponseDto stats = statistics.snapshot(2);
+
+        assertThat(stats.getTotalUsers()).isEqualTo(5);
+        assertThat(stats.getUsersByRole()).containsEntry("CAR_ENTHUSIAST", 5L).containsEntry("MECHANIC", 2L);
+        assertThat(stats.getSignupsByDay()).containsExactly(
+                entry(today.minusDays(1).toString(), 1L),
+                entry(today.toString(), 4L));
+        assertThat(stats.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should count new users and role changes from events")
+    void onUserRegistered_ShouldUpdateCounters() {
+        // Act
+        statistics.onUserRegistered(new UserRegisteredEvent(user("u6", "MECHANIC"), null));
+        statistics.onUserRegistered(new UserRegisteredEvent(user("u1", "CAR_ENTHUSIAST,MECHANIC"), user("u1", "CAR_ENTHUSIAST")));
+        statistics.onUserRegistered(new UserRegisteredEvent(user("u2", "CAR_ENTHUSIAST"), user("u2", "CAR_ENTHUSIAST")));
+
+        // Assert
+        UserStatsResponseDto stats = statistics.snapshot(1);
+        assertThat(stats.getTotalUsers()).isEqualTo(6);
+        assertThat(stats.getUsersByRole()).containsEntry("CAR_ENTHUSIAST", 5L).containsEntry("MECHANIC", 4L);
+        assertThat(stats.getSignupsByDay()).containsExactly(entry(today.toString(), 5L));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should remove deleted users from the counters")
+    void onUserDeleted_ShouldUpdateCounters() {
+        // Act
+        statistics.onUserDeleted(new UserDeletedEvent("u1", user("u1", "CAR_ENTHUSIAST,MECHANIC")));
+
+        // Assert
+        UserStatsResponseDto stats = statistics.snapshot(1);
+        assertThat(stats.getTotalUsers()).isEqualTo(4);
+        assertThat(stats.getUsersByRole()).containsEntry("CAR_ENTHUSIAST", 4L).containsEntry("MECHANIC", 1L);
+        assertThat(stats.getSignupsByDay()).containsEntry(today.toString(), 3L);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should replace drifted counters on the next reconcile")
+    void reconcile_AfterDrift_ShouldResetCounters() {
+        // Arrange
+        statistics.onUserRegistered(new UserRegisteredEvent(user("u6", "MECHANIC"), null));
+
+        // Act
+        statistics.reconcile();
+
+        // Assert
+        assertThat(statistics.snapshot(1).getTotalUsers()).isEqualTo(5);
+        verify(userRepository, times(2)).countByRoles();
+    }
+
+    private UserResponseDto user(String id, String roles) {
+        return UserResponseDto.builder().id(id).roles(roles).createdAt(LocalDateTime.now()).build();
+    }
+
+    private static RoleCountView roleCount(String roles, long count) {
+        return new RoleCountView() {
+            @Override
+            public String getRoles() {
+                return roles;
+            }
+
+            @Override
+            public long getUserCount() {
+                return count;
+            }
+        };
+    }
+
+    private static SignupDayCountView dayCount(LocalDate day, long count) {
+        return new SignupDayCountView() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getUserCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.configuration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.business.UserService;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.idempotency.IdempotencyStore;
+import org.example.controller.UserController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserController.class)
+@DisplayName("ContentNegotiationConfig Tests")
+class ContentNegotiationConfigTest {
+
+    private static final UserResponseDto USER = UserResponseDto.builder()
+            .id("550e8400-e29b-41d4-a716-446655440000")
+            .email("john@example.com")
+            .username("johndoe")
+            .firstName("John")
+            .lastName("Doe")
+            .roles("CAR_ENTHUSIAST,MECHANIC")
+            .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getAllUsers(null)).thenReturn(List.of(USER));
+    }
+
+    @ParameterizedTest
+    @MethodSource("binaryFormats")
+    @DisplayName("Happy Flow: Should answer in the binary format the caller asks for")
+    void getAllUsers_WithBinaryAccept_ShouldRoundTrip(String mediaType, JsonFactory factory) throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/users").accept(MediaType.parseMediaType(mediaType)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn();
+
+        // Assert
+        ObjectMapper mapper = objectMapperBuilder.factory(factory).build();
+        UserResponseDto[] users = mapper.readValue(result.getResponse().getContentAsByteArray(), UserResponseDto[].class);
+        assertThat(users).containsExactly(USER);
+    }
+
+    static Stream<Arguments> binaryFormats() {
+        return Stream.of(
+                Arguments.of("application/x-jackson-smile", new SmileFactory()),
+                Arguments.of("application/cbor", new CBORFactory()));
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep answering JSON to callers that accept anything")
+    void getAllUsers_WithAnyAccept_ShouldAnswerJson() throws Exception {
+        mockMvc.perform(get("/users").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].username").value("johndoe"))
+                .andExpect(jsonPath("$[0].createdAt").value("2024-01-15T10:30:00"));
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should answer JSON when no Accept header is sent")
+    void getAllUsers_WithoutAccept_ShouldAnswerJson() throws Exception {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.controller;
+
+import org.example.business.ReactiveUserService;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveUserController.class, properties = "user-service.reactive.enabled=true")
+@DisplayName("ReactiveUserController Tests")
+class ReactiveUserControllerTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveUserService reactiveUserService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    @DisplayName("Happy Flow: Should stream the list one user per line")
+    void getAllUsers_WithNdjsonAccept_ShouldStream() throws Exception {
+        // Arrange
+        when(reactiveUserService.getAllUsers(null)).thenReturn(Flux.just(user(USER_ID, "john"), user("user2", "maria")));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reactive/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Assert
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(result.getResponse().getContentAsString().lines()).satisfiesExactly(
+                line -> assertThat(line).startsWith("{\"id\":\"" + USER_ID + "\"").contains("\"username\":\"john\""),
+                line -> assertThat(line).startsWith("{\"id\":\"user2\"").contains("\"username\":\"maria\""));
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should stream to callers that accept anything")
+    void getAllUsers_WithAnyAccept_ShouldStream() throws Exception {
+        // Arrange
+        when(reactiveUserService.getAllUsers("MECHANIC")).thenReturn(Flux.just(user(USER_ID, "john")));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reactive/users").param("role", "MECHANIC").accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Assert
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should refuse to collect the whole list into a JSON array")
+    void getAllUsers_WithJsonAccept_ShouldReturnNotAcceptable() throws Exception {
+        mockMvc.perform(get("/reactive/users").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable());
+
+        verifyNoInteractions(reactiveUserService);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should answer a bounded batch as a JSON array")
+    void getUsers_WithJsonAccept_ShouldReturnArray() throws Exception {
+        // Arrange
+        when(reactiveUserService.getUsers(List.of(USER_ID, "user2")))
+                .thenReturn(Flux.just(user(USER_ID, "john"), user("user2", "maria")));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reactive/users/batch").param("ids", USER_ID, "user2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].username").value("maria"));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should reject a batch of more than 100 ids")
+    void getUsers_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        String[] ids = new String[101];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "user" + i;
+        }
+
+        mockMvc.perform(get("/reactive/users/batch").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value("At most 100 ids can be requested at once"));
+
+        verify(reactiveUserService, never()).getUsers(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should return 404 for an unknown user")
+    void getUser_WhenMissing_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(reactiveUserService.getUser(USER_ID)).thenReturn(Mono.empty());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reactive/users/{userId}", USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    private static UserResponseDto user(String id, String username) {
+        return UserResponseDto.builder().id(id).username(username).build();
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.controller;
+
+import org.example.business.UserService;
+import org.example.business.dto.userDTO.UserRequestDto;
+import org.example.business.dto.userDTO.UserResponseDto;
+import org.example.business.idempotency.IdempotencyStore;
+import org.example.business.idempotency.StoredResponse;
+import org.example.persistance.UserField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserController.class)
+@DisplayName("UserController Tests")
+class UserControllerTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    @DisplayName("Happy Flow: Should register a user and return the stored roles")
+    void registerUser_ShouldReturnStoredRoles() throws Exception {
+        // Arrange
+        when(userService.registerUser(any(UserRequestDto.class))).thenReturn(UserResponseDto.builder()
+                .id(USER_ID)
+                .roles("CAR_ENTHUSIAST,MECHANIC")
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/users/register")
+                        .header("X-User-Id", USER_ID)
+                        .header("X-User-Email", "john@example.com")
+                        .header("X-User-FirstName", "John")
+                        .header("X-User-LastName", "Doe")
+                        .header("X-User-Username", "johndoe")
+                        .header("X-User-Roles", "MECHANIC,CAR_ENTHUSIAST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles").value("CAR_ENTHUSIAST,MECHANIC"));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should reject a registration with an unknown role")
+    void registerUser_WithUnknownRole_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/users/register")
+                        .header("X-User-Id", USER_ID)
+                        .header("X-User-Email", "john@example.com")
+                        .header("X-User-FirstName", "John")
+                        .header("X-User-LastName", "Doe")
+                        .header("X-User-Username", "johndoe")
+                        .header("X-User-Roles", "MECHANIC,ADMIN"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should reject a registration whose id isn't a uuid")
+    void registerUser_WithNonUuidId_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/users/register")
+                        .header("X-User-Id", "user123")
+                        .header("X-User-Email", "john@example.com")
+                        .header("X-User-FirstName", "John")
+                        .header("X-User-LastName", "Doe")
+                        .header("X-User-Username", "johndoe")
+                        .header("X-User-Roles", "MECHANIC"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should answer 404 when deleting an id that isn't a uuid")
+    void deleteAccount_WithNonUuidId_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        doThrow(new RuntimeException("User not found")).when(userService).deleteAccount("not-a-uuid");
+
+        // Act & Assert
+        mockMvc.perform(delete("/users/account").header("X-User-Id", "not-a-uuid"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should return only the requested fields")
+    void getAllUsers_WithFields_ShouldParseThroughUserField() throws Exception {
+        // Arrange
+        when(userService.getAllUsers(null, EnumSet.of(UserField.ID, UserField.USERNAME)))
+                .thenReturn(List.of(Map.of("id", USER_ID, "username", "johndoe")));
+
+        // Act & Assert
+        mockMvc.perform(get("/users").param("fields", "username, id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("johndoe"));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should reject a field that UserField doesn't know")
+    void getAllUsers_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value("Fields must be a comma separated list of id, email, username, firstName, lastName, roles, createdAt"));
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should replay the stored response for a retried registration")
+    void registerUser_WithReusedKeyAndSameRequest_ShouldReplay() throws Exception {
+        // Arrange
+        when(userService.registerUser(any(UserRequestDto.class))).thenReturn(UserResponseDto.builder()
+                .id(USER_ID)
+                .username("johndoe")
+                .build());
+        mockMvc.perform(register("johndoe")).andExpect(status().isOk());
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(idempotencyStore).put(eq("register:" + USER_ID + ":key-1"), stored.capture());
+        when(idempotencyStore.get("register:" + USER_ID + ":key-1", StoredResponse.class))
+                .thenReturn(Optional.of(stored.getValue()));
+
+        // Act & Assert
+        mockMvc.perform(register("johndoe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("johndoe"));
+        verify(userService, times(1)).registerUser(any(UserRequestDto.class));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should refuse a reused idempotency key with a different request")
+    void registerUser_WithReusedKeyAndDifferentRequest_ShouldReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        when(userService.registerUser(any(UserRequestDto.class))).thenReturn(UserResponseDto.builder()
+                .id(USER_ID)
+                .username("johndoe")
+                .build());
+        mockMvc.perform(register("johndoe")).andExpect(status().isOk());
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(idempotencyStore).put(eq("register:" + USER_ID + ":key-1"), stored.capture());
+        when(idempotencyStore.get("register:" + USER_ID + ":key-1", StoredResponse.class))
+                .thenReturn(Optional.of(stored.getValue()));
+
+        // Act & Assert
+        mockMvc.perform(register("janedoe"))
+                .andExpect(status().isUnprocessableEntity());
+        verify(userService, times(1)).registerUser(any(UserRequestDto.class));
+    }
+
+    private static MockHttpServletRequestBuilder register(String username) {
+        return post("/users/register")
+                .header("X-User-Id", USER_ID)
+                .header("X-User-Email", "john@example.com")
+                .header("X-User-FirstName", "John")
+                .header("X-User-LastName", "Doe")
+                .header("X-User-Username", username)
+                .header("X-User-Roles", "MECHANIC")
+                .header("Idempotency-Key", "key-1");
+    }
+}
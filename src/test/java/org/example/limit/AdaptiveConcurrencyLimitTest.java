@@ -0,0 +1,211 @@
+package org.example.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.example.limit.AdaptiveConcurrencyLimit.Outcome.*;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String ROUTE = "/users";
+
+    @Test
+    @DisplayName("Happy Flow: Should grow the limit while saturated and fast")
+    void release_WhenSaturatedAndFast_ShouldIncreaseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 10, 2.0, 0.5);
+
+        // Act
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(ROUTE, FAST, SUCCESS);
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(3);
+        assertThat(limit.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should not grow the limit while permits are left over")
+    void release_WhenNotSaturated_ShouldKeepLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 5, 1, 10, 2.0, 0.5);
+
+        limit.tryAcquire();
+        limit.release(ROUTE, FAST, SUCCESS);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should back off on a sustained slowdown or failed requests, but not below the minimum")
+    void release_WhenSlowOrFailed_ShouldDecreaseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("write", 8, 3, 10, 2.0, 0.5);
+        warmUp(limit, ROUTE, FAST);
+
+        // Act & Assert: one slow request is noise, the second moves the recent average past the tolerance
+        limit.tryAcquire();
+        limit.release(ROUTE, SLOW, SUCCESS, 100 * SECOND);
+        assertThat(limit.getLimit()).isEqualTo(8);
+
+        limit.tryAcquire();
+        limit.release(ROUTE, SLOW, SUCCESS, 101 * SECOND);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.release(ROUTE, FAST, FAILED, 102 * SECOND);
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should compare each route with its own latency")
+    void release_WithMixedLatencyRoutes_ShouldKeepLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 8, 1, 10, 2.0, 0.5);
+
+        // Act
+        for (int i = 1; i <= 20; i++) {
+            limit.tryAcquire();
+            limit.release("/users/search", FAST, SUCCESS, i * SECOND);
+            limit.tryAcquire();
+            limit.release("/users/stats", SLOW, SUCCESS, i * SECOND);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(8);
+
+        for (int i = 21; i <= 22; i++) {
+            limit.tryAcquire();
+            limit.release("/users/search", SLOW, SUCCESS, i * SECOND);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should back off only once for requests failed in the same window")
+    void release_WhenBurstOfFailedRequests_ShouldDecreaseOncePerWindow() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 8, 1, 10, 2.0, 0.5);
+        limit.tryAcquire();
+        limit.release(ROUTE, FAST, SUCCESS, SECOND);
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+        }
+
+        // Act: five requests admitted together all fail, moments apart
+        for (int i = 0; i < 5; i++) {
+            limit.release(ROUTE, SLOW + i, FAILED, 2 * SECOND + i);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        // A request admitted after the decrease starts a new window
+        limit.tryAcquire();
+        limit.release(ROUTE, SLOW, FAILED, 3 * SECOND);
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should hold the limit while latency jitters around a steady mean")
+    void release_WhenLatencyJitters_ShouldNotCollapse() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 50, 5, 200, 2.0, 0.9);
+        Random random = new Random(42);
+        long now = SECOND;
+        int lowest = limit.getLimit();
+
+        // Act: a saturated route answering in 50ms ± 15ms, with the odd 3x GC pause and some fast 404s
+        for (int i = 0; i < 10_000; i++) {
+            while (limit.tryAcquire()) {
+                // fill every permit so each release is judged as saturated
+            }
+            double millis = Math.max(1, 50 + random.nextGaussian() * 15);
+            if (random.nextInt(100) < 2) {
+                millis *= 3;
+            }
+            boolean notFound = random.nextInt(100) < 10;
+            now += TimeUnit.MILLISECONDS.toNanos(1);
+            limit.release(ROUTE, notFound ? FAST / 10 : (long) (millis * 1_000_000), notFound ? IGNORED : SUCCESS, now);
+            lowest = Math.min(lowest, limit.getLimit());
+        }
+
+        // Assert
+        assertThat(lowest).isEqualTo(50);
+        assertThat(limit.getLimit()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should neither sample nor reward responses that skipped the work")
+    void release_WhenIgnored_ShouldNotSetLatencyOrLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 8, 1, 10, 2.0, 0.5);
+
+        // Act: fast 404s first, then the route's real, slower answers
+        for (int i = 1; i <= 50; i++) {
+            limit.tryAcquire();
+            limit.release(ROUTE, FAST / 10, IGNORED, i * SECOND);
+        }
+        for (int i = 51; i <= 100; i++) {
+            limit.tryAcquire();
+            limit.release(ROUTE, SLOW, SUCCESS, i * SECOND);
+        }
+        while (limit.tryAcquire()) {
+            // saturate
+        }
+        limit.release(ROUTE, FAST, IGNORED, 101 * SECOND);
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(8);
+        assertThat(AdaptiveConcurrencyLimit.Outcome.forStatus(200)).isEqualTo(SUCCESS);
+        assertThat(AdaptiveConcurrencyLimit.Outcome.forStatus(404)).isEqualTo(IGNORED);
+        assertThat(AdaptiveConcurrencyLimit.Outcome.forStatus(503)).isEqualTo(FAILED);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should answer 503 with Retry-After when the limit is reached")
+    void filter_WhenLimitReached_ShouldShedLoad() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimit readLimit = new AdaptiveConcurrencyLimit("read", 1, 1, 1, 2.0, 0.5);
+        AdaptiveConcurrencyLimit writeLimit = new AdaptiveConcurrencyLimit("write", 1, 1, 1, 2.0, 0.5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readLimit, writeLimit, 2, meterRegistry);
+        readLimit.tryAcquire();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), rejected,
+                (req, res) -> fail("Request over the limit reached the controller"));
+        filter.doFilter(new MockHttpServletRequest("POST", "/users/register"), accepted,
+                (req, res) -> ((HttpServletResponse) res).setStatus(200));
+
+        // Assert
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(accepted.getStatus()).isEqualTo(200);
+        assertThat(writeLimit.getInFlight()).isZero();
+        assertThat(meterRegistry.get("user_service.concurrency.rejected").tag("path", "read").counter().count()).isEqualTo(1);
+    }
+
+    private static void warmUp(AdaptiveConcurrencyLimit limit, String route, long latencyNanos) {
+        for (int i = 1; i <= 20; i++) {
+            limit.tryAcquire();
+            limit.release(route, latencyNanos, SUCCESS, i * SECOND);
+        }
+    }
+}
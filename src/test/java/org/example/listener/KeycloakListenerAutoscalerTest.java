@@ -0,0 +1,148 @@
+package org.example.listener;
+
+import org.example.configuration.RabbitMQConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakListenerAutoscaler Unit Tests")
+class KeycloakListenerAutoscalerTest {
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    @InjectMocks
+    private KeycloakListenerAutoscaler autoscaler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(autoscaler, "enabled", true);
+        ReflectionTestUtils.setField(autoscaler, "minConsumers", 1);
+        ReflectionTestUtils.setField(autoscaler, "maxConsumers", 8);
+        ReflectionTestUtils.setField(autoscaler, "minPrefetch", 1);
+        ReflectionTestUtils.setField(autoscaler, "maxPrefetch", 50);
+        ReflectionTestUtils.setField(autoscaler, "targetDrainTimeMs", 5000L);
+        ReflectionTestUtils.setField(autoscaler, "prefetchChangeFactor", 2.0);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should scale up to drain the backlog within the target time")
+    void desiredConsumers_WithBacklog_ShouldScaleUp() {
+        // 1000 messages * 20ms = 20s of work, 5s target -> 4 consumers
+        assertThat(autoscaler.desiredConsumers(1000, 20, 1)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not exceed the configured maximum")
+    void desiredConsumers_WithHugeBacklog_ShouldClampToMax() {
+        assertThat(autoscaler.desiredConsumers(1_000_000, 50, 2)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should scale down one consumer at a time when idle")
+    void desiredConsumers_WhenIdle_ShouldStepDown() {
+        assertThat(autoscaler.desiredConsumers(0, 20, 6)).isEqualTo(5);
+        assertThat(autoscaler.desiredConsumers(0, 20, 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should size prefetch to the backlog per consumer")
+    void desiredPrefetch_ShouldFollowBacklogPerConsumer() {
+        assertThat(autoscaler.desiredPrefetch(0, 1)).isEqualTo(1);
+        assertThat(autoscaler.desiredPrefetch(100, 4)).isEqualTo(25);
+        assertThat(autoscaler.desiredPrefetch(10_000, 4)).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should smooth processing time samples")
+    void recordProcessingTime_ShouldKeepMovingAverage() {
+        autoscaler.recordProcessingTime(10_000_000L);
+        assertThat(autoscaler.getAverageLatencyMillis()).isEqualTo(10.0);
+
+        autoscaler.recordProcessingTime(20_000_000L);
+        assertThat(autoscaler.getAverageLatencyMillis()).isCloseTo(12.0, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should restart consumers with a new prefetch while already at max consumers")
+    void adjust_AtMaxConsumers_ShouldFollowBacklogWithPrefetch() {
+        // Arrange
+        String[] queues = {RabbitMQConfig.KEYCLOAK_QUEUE};
+        when(listenerRegistry.getListenerContainer(RabbitMQConfig.KEYCLOAK_LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+        when(container.getActiveConsumerCount()).thenReturn(8);
+        when(container.getQueueNames()).thenReturn(queues);
+        when(amqpAdmin.getQueueInfo(RabbitMQConfig.KEYCLOAK_QUEUE)).thenReturn(
+                new QueueInformation(RabbitMQConfig.KEYCLOAK_QUEUE, 80_000, 8),
+                new QueueInformation(RabbitMQConfig.KEYCLOAK_QUEUE, 160_000, 8),
+                new QueueInformation(RabbitMQConfig.KEYCLOAK_QUEUE, 160, 8));
+        autoscaler.recordProcessingTime(500_000_000L);
+
+        // Act
+        autoscaler.adjust();
+        autoscaler.adjust();
+        autoscaler.adjust();
+
+        // Assert
+        verify(container, never()).setConcurrentConsumers(anyInt());
+        verify(container).setPrefetchCount(50);
+        verify(container).setPrefetchCount(20);
+        verify(container, times(2)).setQueueNames(queues);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not restart the consumers on every interval while a backlog drains")
+    void adjust_WhileBacklogDrains_ShouldOnlyRestartOnLargeChanges() {
+        // Arrange
+        String[] queues = {RabbitMQConfig.KEYCLOAK_QUEUE};
+        when(listenerRegistry.getListenerContainer(RabbitMQConfig.KEYCLOAK_LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+        when(container.getActiveConsumerCount()).thenReturn(8);
+        when(container.getQueueNames()).thenReturn(queues);
+        autoscaler.recordProcessingTime(500_000_000L);
+
+        // Act: 400 messages drain to 80, 20 per interval; backlog per consumer goes 50, 47, 45, ... 10
+        for (int depth = 400; depth >= 80; depth -= 20) {
+            when(amqpAdmin.getQueueInfo(RabbitMQConfig.KEYCLOAK_QUEUE))
+                    .thenReturn(new QueueInformation(RabbitMQConfig.KEYCLOAK_QUEUE, depth, 8));
+            autoscaler.adjust();
+        }
+
+        // Assert
+        verify(container, never()).setConcurrentConsumers(anyInt());
+        verify(container).setPrefetchCount(50);
+        verify(container).setPrefetchCount(25);
+        verify(container).setPrefetchCount(12);
+        verify(container, times(3)).setQueueNames(queues);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep the applied prefetch for small changes in either direction")
+    void nextPrefetch_ShouldOnlyMoveByTheChangeFactor() {
+        ReflectionTestUtils.setField(autoscaler, "appliedPrefetch", 20);
+
+        assertThat(autoscaler.nextPrefetch(11)).isEqualTo(20);
+        assertThat(autoscaler.nextPrefetch(39)).isEqualTo(20);
+        assertThat(autoscaler.nextPrefetch(10)).isEqualTo(10);
+        assertThat(autoscaler.nextPrefetch(40)).isEqualTo(40);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.listener;
+
+import org.example.business.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakUserDeletedListener Unit Tests")
+class KeycloakUserDeletedListenerTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private KeycloakListenerAutoscaler autoscaler;
+
+    private IdempotencyStore idempotencyStore;
+    private KeycloakUserDeletedListener listener;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(10, 60_000);
+        listener = new KeycloakUserDeletedListener(autoscaler, idempotencyStore);
+        // Nothing listens here, so a call that gets past the idempotency check fails
+        ReflectionTestUtils.setField(listener, "keycloakUrl", "http://localhost:1");
+        ReflectionTestUtils.setField(listener, "keycloakRealm", "test");
+        ReflectionTestUtils.setField(listener, "keycloakClientId", "user-service");
+        ReflectionTestUtils.setField(listener, "keycloakClientSecret", "secret");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should skip a redelivered message that was already handled")
+    void handleUserDeleted_WhenRedelivered_ShouldSkip() {
+        // Arrange
+        idempotencyStore.put("user.deleted:msg-1", Boolean.TRUE);
+
+        // Act
+        listener.handleUserDeletedFromKeycloak(USER_ID, "msg-1");
+
+        // Assert
+        verifyNoInteractions(autoscaler);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should key messages without an id by user")
+    void handleUserDeleted_WithoutMessageId_ShouldSkipByUser() {
+        // Arrange
+        idempotencyStore.put("user.deleted:" + USER_ID, Boolean.TRUE);
+
+        // Act
+        listener.handleUserDeletedFromKeycloak(USER_ID, null);
+
+        // Assert
+        verifyNoInteractions(autoscaler);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should not record a failed deletion, so its redelivery is handled again")
+    void handleUserDeleted_WhenKeycloakFails_ShouldNotMarkHandled() {
+        // Act & Assert
+        assertThatThrownBy(() -> listener.handleUserDeletedFromKeycloak(USER_ID, "msg-2"))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(idempotencyStore.contains("user.deleted:msg-2")).isFalse();
+        verify(autoscaler).recordProcessingTime(anyLong());
+    }
+}
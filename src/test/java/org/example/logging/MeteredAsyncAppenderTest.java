@@ -0,0 +1,152 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MeteredAsyncAppender Unit Tests")
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("org.example.controller.UserController");
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch workerBusy = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    // Runs once, between the appender's capacity check and its enqueue
+    private volatile Runnable onCapacityCheck;
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender() {
+        @Override
+        public int getRemainingCapacity() {
+            int remaining = super.getRemainingCapacity();
+            Runnable hook = onCapacityCheck;
+            onCapacityCheck = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return remaining;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should drop INFO lines and write errors inline while the queue is full")
+    void append_WhenQueueFull_ShouldDropInfoAndKeepErrors() throws InterruptedException {
+        // Arrange
+        startAppender(1, 0);
+        appender.doAppend(event(Level.INFO, "blocks the worker"));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.INFO, "fills the queue"));
+        long droppedBefore = MeteredAsyncAppender.dropped();
+        long inlineBefore = MeteredAsyncAppender.writtenInline();
+
+        // Act
+        appender.doAppend(event(Level.INFO, "dropped"));
+        appender.doAppend(event(Level.ERROR, "written inline"));
+
+        // Assert
+        assertThat(MeteredAsyncAppender.dropped() - droppedBefore).isEqualTo(1);
+        assertThat(MeteredAsyncAppender.writtenInline() - inlineBefore).isEqualTo(1);
+        assertThat(written).contains("written inline").doesNotContain("dropped");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should discard INFO lines below the discarding threshold")
+    void append_BelowThreshold_ShouldDiscardInfo() throws InterruptedException {
+        // Arrange
+        startAppender(4, 3);
+        appender.doAppend(event(Level.INFO, "blocks the worker"));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.INFO, "first"));
+        appender.doAppend(event(Level.INFO, "second"));
+        long discardedBefore = MeteredAsyncAppender.discarded();
+
+        // Act
+        appender.doAppend(event(Level.INFO, "discarded"));
+        appender.doAppend(event(Level.WARN, "queued"));
+        release.countDown();
+
+        // Assert
+        assertThat(MeteredAsyncAppender.discarded() - discardedBefore).isEqualTo(1);
+        appender.stop();
+        assertThat(written).containsExactly("blocks the worker", "first", "second", "queued");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep a WARN line when another caller takes the last slot after the capacity check")
+    void append_WhenQueueFillsAfterCheck_ShouldNotLoseWarning() throws InterruptedException {
+        // Arrange
+        startAppender(2, 0);
+        appender.doAppend(event(Level.INFO, "blocks the worker"));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.INFO, "fills one slot"));
+        Thread otherCaller = new Thread(() -> appender.doAppend(event(Level.WARN, "other caller")));
+        onCapacityCheck = () -> {
+            otherCaller.start();
+            try {
+                // Returns early only if the other caller got to enqueue in between
+                otherCaller.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // Act
+        appender.doAppend(event(Level.WARN, "saw the last slot"));
+        otherCaller.join(5000);
+        release.countDown();
+        appender.stop();
+
+        // Assert
+        assertThat(written).contains("saw the last slot", "other caller");
+    }
+
+    private void startAppender(int queueSize, int discardingThreshold) {
+        // Unsynchronized, so lines written inline aren't held up behind the blocked worker
+        UnsynchronizedAppenderBase<ILoggingEvent> delegate = new UnsynchronizedAppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                if (event.getMessage().equals("blocks the worker")) {
+                    workerBusy.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                written.add(event.getMessage());
+            }
+        };
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        delegate.setContext(context);
+        delegate.start();
+        appender.setContext(context);
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.addAppender(delegate);
+        appender.start();
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.FQCN, logger, level, message, null, null);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SuccessLogSamplingFilter Unit Tests")
+class SuccessLogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final SuccessLogSamplingFilter filter = new SuccessLogSamplingFilter();
+
+    @BeforeEach
+    void setUp() {
+        filter.setSampleRate(10);
+        filter.start();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should keep one in ten INFO lines of each statement")
+    void decide_ShouldSamplePerStatement() {
+        // Arrange
+        Logger controller = context.getLogger("org.example.controller.UserController");
+
+        // Act
+        long keptRegister = kept(controller, SuccessLogSamplingFilter.ROUTINE, Level.INFO, "Register request for user: {}", 100);
+        long keptSearch = kept(controller, SuccessLogSamplingFilter.ROUTINE, Level.INFO, "Searching users for: {}", 5);
+
+        // Assert
+        assertThat(keptRegister).isEqualTo(10);
+        assertThat(keptSearch).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should never sample errors, debug lines or unmarked lines")
+    void decide_ShouldPassEverythingElse() {
+        Logger controller = context.getLogger("org.example.controller.UserController");
+        Logger listener = context.getLogger("org.example.listener.KeycloakUserDeletedListener");
+
+        assertThat(kept(controller, SuccessLogSamplingFilter.ROUTINE, Level.ERROR, "User not found: {}", 20)).isEqualTo(20);
+        assertThat(kept(controller, SuccessLogSamplingFilter.ROUTINE, Level.WARN, "Slow request: {}", 20)).isEqualTo(20);
+        assertThat(kept(controller, SuccessLogSamplingFilter.ROUTINE, Level.DEBUG, "Details: {}", 20)).isEqualTo(20);
+        assertThat(kept(listener, null, Level.INFO, "Received request to delete user from Keycloak: {}", 20)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should always keep the audit lines of the sampled service")
+    void decide_WithAuditLines_ShouldKeepEveryLine() {
+        Logger service = context.getLogger("org.example.business.implementation.UserServiceImpl");
+
+        assertThat(kept(service, null, Level.INFO, "User deleted from local database: {}", 50)).isEqualTo(50);
+        assertThat(kept(service, null, Level.INFO, "Removed user no longer in Keycloak: {}", 50)).isEqualTo(50);
+        assertThat(kept(service, SuccessLogSamplingFilter.ROUTINE, Level.INFO, "User saved successfully: {}", 50)).isEqualTo(5);
+    }
+
+    private long kept(Logger logger, Marker marker, Level level, String format, int lines) {
+        return IntStream.range(0, lines)
+                .mapToObj(i -> filter.decide(marker, logger, level, format, new Object[]{i}, null))
+                .filter(reply -> reply != FilterReply.DENY)
+                .count();
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.persistance;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.example.configuration.ReactiveReadConfig;
+import org.example.configuration.ShardingProperties;
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the repository's SQL over a real R2DBC driver, with the pool built the way {@link ReactiveReadConfig} builds it.
+ */
+@DisplayName("ReactiveUserRepository Query Tests")
+class ReactiveUserRepositoryQueryTest {
+
+    private static final String JOHN = "0b9f4c1e-8d2a-4f3b-9c6d-7e5a1b2c3d4e";
+    private static final String MARIA = "1c8e5d2f-9e3b-4a4c-8d7e-8f6b2c3d4e5f";
+    private static final String ALEX = "2d7f6e3a-af4c-4b5d-9e8f-9a7c3d4e5f60";
+
+    // A database per test, kept open between the connections the tests borrow
+    private final String url = "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private ReactiveUserRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = repository(1, Duration.ofMinutes(5));
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build()));
+        Flux.concat(
+                        databaseClient.sql("CREATE TABLE users (id UUID PRIMARY KEY, email VARCHAR(255), "
+                                + "username VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255), "
+                                + "roles INTEGER NOT NULL, created_at TIMESTAMP(6))").then(),
+                        insert(databaseClient, MARIA, "maria", Role.MECHANIC.bit(), "2024-01-16T09:00:00"),
+                        insert(databaseClient, JOHN, "john", Role.maskOf("CAR_ENTHUSIAST,MECHANIC"), "2024-01-15T10:30:00"),
+                        insert(databaseClient, ALEX, "alex", Role.CAR_ENTHUSIAST.bit(), "2024-01-17T08:00:00"))
+                .blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should stream every user in signup order with converted ids and roles")
+    void findAll_ShouldStreamInSignupOrder() {
+        StepVerifier.create(repository.findAllByOrderByCreatedAtAscIdAsc().map(UserEntity::getUsername))
+                .expectNext("john", "maria", "alex")
+                .verifyComplete();
+
+        UserEntity john = repository.findById(JOHN).block();
+        assertThat(john).isNotNull();
+        assertThat(john.getId()).isEqualTo(JOHN);
+        assertThat(john.getRoles()).isEqualTo("CAR_ENTHUSIAST,MECHANIC");
+        assertThat(john.isNew()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should bind the role masks as an IN list")
+    void findAllWithRoles_ShouldMatchEveryMaskContainingTheRole() {
+        StepVerifier.create(repository.findAllWithRolesOrderByCreatedAtAscIdAsc(Role.MECHANIC.masksContaining())
+                        .map(UserEntity::getUsername))
+                .expectNext("john", "maria")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should leave out ids that aren't uuids or don't exist")
+    void findAllById_WithUnknownIds_ShouldReturnFoundUsers() {
+        List<String> ids = List.of(ALEX, "not-a-uuid", UUID.randomUUID().toString(), JOHN);
+
+        StepVerifier.create(repository.findAllById(ids).map(UserEntity::getUsername).collectList())
+                .assertNext(usernames -> assertThat(usernames).containsExactlyInAnyOrder("alex", "john"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should end a stream that outlives its deadline and return the connection")
+    void findAll_WhenClientReadsTooSlowly_ShouldTimeOut() throws Exception {
+        // Arrange
+        repository.close();
+        repository = repository(1, Duration.ofMillis(500));
+
+        // Act & Assert
+        StepVerifier.create(repository.findAllByOrderByCreatedAtAscIdAsc(), 1)
+                .expectNextCount(1)
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(10));
+        StepVerifier.create(repository.findById(JOHN).map(UserEntity::getUsername))
+                .expectNext("john")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should fail fast when every pooled connection is streaming")
+    void findById_WhenPoolIsExhausted_ShouldNotQueue() {
+        // Arrange
+        // Reads one row and then stops asking, like a stalled client
+        BaseSubscriber<UserEntity> stream = repository.findAllByOrderByCreatedAtAscIdAsc().subscribeWith(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+        });
+
+        try {
+            // Act & Assert
+            StepVerifier.create(repository.findById(JOHN))
+                    .expectErrorSatisfies(error -> assertThat(error)
+                            .isInstanceOf(DataAccessResourceFailureException.class)
+                            .hasRootCauseInstanceOf(TimeoutException.class))
+                    .verify(Duration.ofSeconds(10));
+        } finally {
+            stream.dispose();
+        }
+    }
+
+    private ReactiveUserRepository repository(int maxConnections, Duration streamTimeout) throws Exception {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.afterPropertiesSet();
+        return new ReactiveReadConfig().reactiveUserRepository(dataSourceProperties, new ShardingProperties(),
+                url, maxConnections, 1, 1000, streamTimeout.toMillis());
+    }
+
+    private static Mono<Void> insert(DatabaseClient databaseClient, String id, String username, int roles, String createdAt) {
+        return databaseClient.sql("INSERT INTO users VALUES (:id, :email, :username, :firstName, :lastName, :roles, :createdAt)")
+                .bind("id", UUID.fromString(id))
+                .bind("email", username + "@example.com")
+                .bind("username", username)
+                .bind("firstName", username)
+                .bind("lastName", "Doe")
+                .bind("roles", roles)
+                .bind("createdAt", LocalDateTime.parse(createdAt))
+                .then();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.persistance;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveUserRepository Unit Tests")
+class ReactiveUserRepositoryTest {
+
+    @Mock
+    private Readable row;
+
+    @Mock
+    private ConnectionPool pool;
+
+    @Test
+    @DisplayName("Happy Flow: Should map the uuid id and the roles bitset like the JPA converters")
+    void toEntity_ShouldConvertIdAndRoles() {
+        // Arrange
+        UUID id = UUID.fromString("0b9f4c1e-8d2a-4f3b-9c6d-7e5a1b2c3d4e");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(row.get("id", UUID.class)).thenReturn(id);
+        when(row.get("email", String.class)).thenReturn("john@example.com");
+        when(row.get("username", String.class)).thenReturn("johndoe");
+        when(row.get("first_name", String.class)).thenReturn("John");
+        when(row.get("last_name", String.class)).thenReturn("Doe");
+        when(row.get("roles", Integer.class)).thenReturn(3);
+        when(row.get("created_at", LocalDateTime.class)).thenReturn(createdAt);
+
+        // Act
+        UserEntity user = ReactiveUserRepository.toEntity(row);
+
+        // Assert
+        assertThat(user.getId()).isEqualTo("0b9f4c1e-8d2a-4f3b-9c6d-7e5a1b2c3d4e");
+        assertThat(user.getUsername()).isEqualTo("johndoe");
+        assertThat(user.getRoles()).isEqualTo("CAR_ENTHUSIAST,MECHANIC");
+        assertThat(user.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(user.isNew()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not query when no id is a uuid")
+    void findAllById_WithoutValidIds_ShouldNotQuery() {
+        // Arrange
+        when(pool.getMetadata()).thenReturn(() -> "PostgreSQL");
+        ReactiveUserRepository repository = new ReactiveUserRepository(pool, 100, Duration.ofMinutes(5));
+
+        // Act & Assert
+        StepVerifier.create(repository.findAllById(List.of("not-a-uuid", ""))).verifyComplete();
+        StepVerifier.create(repository.findById("not-a-uuid")).verifyComplete();
+        verify(pool, never()).create();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.Role;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("UserRepository Tests")
+class UserRepositoryTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(UserEntity.builder()
+                .id(USER_ID)
+                .email("john@example.com")
+                .username("johndoe")
+                .firstName("John")
+                .lastName("Doe")
+                .roles("MECHANIC,CAR_ENTHUSIAST")
+                .build());
+        entityManager.clear();
+    }
+
+    private void persistMechanic() {
+        entityManager.persistAndFlush(UserEntity.builder()
+                .id("6f1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e")
+                .email("jane@example.com")
+                .username("janedoe")
+                .firstName("Jane")
+                .lastName("Doe")
+                .roles("MECHANIC")
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should store the id as a uuid and read the roles back in declaration order")
+    void findById_ShouldReadStoredUser() {
+        UserEntity user = userRepository.findById(USER_ID).orElseThrow();
+
+        assertThat(user.getId()).isEqualTo(USER_ID);
+        assertThat(user.getRoles()).isEqualTo("CAR_ENTHUSIAST,MECHANIC");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should treat an id that isn't a uuid as no such row")
+    void lookups_WithNonUuidId_ShouldFindNothing() {
+        assertThat(userRepository.findById("not-a-uuid")).isEmpty();
+        assertThat(userRepository.existsById("user123")).isFalse();
+        assertThat(userRepository.findAllById(List.of("not-a-uuid", USER_ID)))
+                .extracting(UserEntity::getId)
+                .containsExactly(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should select only the requested fields plus the ordering columns")
+    void findFieldsOrderByCreatedAtAscIdAsc_ShouldProjectRequestedFields() {
+        // Arrange
+        persistMechanic();
+
+        // Act
+        List<Map<String, Object>> rows = userRepository.findFieldsOrderByCreatedAtAscIdAsc(
+                EnumSet.of(UserField.USERNAME, UserField.ROLES), null);
+
+        // Assert
+        assertThat(rows).extracting(row -> row.get("username")).containsExactly("johndoe", "janedoe");
+        assertThat(rows.get(0)).containsOnlyKeys("id", "username", "roles", "createdAt");
+        assertThat(rows.get(0)).containsEntry("id", USER_ID).containsEntry("roles", "CAR_ENTHUSIAST,MECHANIC");
+        assertThat(rows.get(0).get("createdAt")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should filter projected rows by the stored role masks")
+    void findFieldsOrderByCreatedAtAscIdAsc_WithRoleMasks_ShouldFilter() {
+        // Arrange
+        persistMechanic();
+
+        // Act
+        List<Map<String, Object>> rows = userRepository.findFieldsOrderByCreatedAtAscIdAsc(
+                EnumSet.of(UserField.EMAIL), Role.CAR_ENTHUSIAST.masksContaining());
+
+        // Assert
+        assertThat(rows).extracting(row -> row.get("email")).containsExactly("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should refuse to store an unknown role")
+    void save_WithUnknownRole_ShouldFail() {
+        UserEntity user = UserEntity.builder()
+                .id("6f1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e")
+                .email("jane@example.com")
+                .username("janedoe")
+                .firstName("Jane")
+                .lastName("Doe")
+                .roles("PILOT")
+                .build();
+
+        assertThatThrownBy(() -> userRepository.saveAndFlush(user)).hasRootCauseMessage("Unknown role: PILOT");
+    }
+}
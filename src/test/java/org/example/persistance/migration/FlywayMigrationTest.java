@@ -0,0 +1,109 @@
+package org.example.persistance.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the Flyway scripts on PostgreSQL, whose syntax they use and H2 doesn't accept.
+ * Each test migrates its own schema; the tests are skipped where Docker isn't available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Flyway Migration Tests")
+class FlywayMigrationTest {
+
+    private static final String JOHN = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String MARIA = "6ba7b810-9dad-11d1-80b4-00c04fd430c8";
+    private static final String ALEX = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private String schema;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        schema = "migration_" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should convert stored ids to uuid and role lists to the bitset")
+    void migrate_FromV1_ShouldConvertIdsAndRoles() {
+        // Arrange
+        flyway("1").migrate();
+        insertV1User(JOHN, "john", "MECHANIC,CAR_ENTHUSIAST");
+        insertV1User(MARIA, "maria", "MECHANIC");
+        insertV1User(ALEX, "alex", null);
+
+        // Act
+        flyway("latest").migrate();
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("SELECT roles FROM " + schema + ".users WHERE username = 'john'", Integer.class))
+                .isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT roles FROM " + schema + ".users WHERE username = 'maria'", Integer.class))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT roles FROM " + schema + ".users WHERE username = 'alex'", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT id FROM " + schema + ".users WHERE username = 'john'", UUID.class))
+                .isEqualTo(UUID.fromString(JOHN));
+        flyway("latest").validate();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should stop instead of dropping roles the bitset can't store")
+    void migrate_WithUnknownRoles_ShouldFailAndKeepTheRows() {
+        // Arrange
+        flyway("1").migrate();
+        insertV1User(JOHN, "john", "ADMIN,MECHANIC");
+        insertV1User(MARIA, "maria", "mechanic");
+        insertV1User(ALEX, "alex", "CAR_ENTHUSIAST");
+
+        // Act & Assert
+        assertThatThrownBy(() -> flyway("latest").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("users.roles holds roles the bitset cannot store: ADMIN, mechanic");
+        assertThat(jdbcTemplate.queryForObject("SELECT roles FROM " + schema + ".users WHERE username = 'john'", String.class))
+                .isEqualTo("ADMIN,MECHANIC");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should create the current schema on an empty database")
+    void migrate_OnEmptyDatabase_ShouldApplyEveryScript() {
+        // Act
+        flyway("latest").migrate();
+
+        // Assert
+        assertThat(flyway("latest").info().pending()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_indexes WHERE schemaname = ?", Integer.class, schema))
+                .isGreaterThanOrEqualTo(7);
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .schemas(schema)
+                .target(target)
+                .load();
+    }
+
+    private void insertV1User(String id, String username, String roles) {
+        jdbcTemplate.update("INSERT INTO " + schema + ".users (id, email, username, first_name, last_name, roles, created_at) "
+                        + "VALUES (?, ?, ?, 'First', 'Last', ?, now())",
+                id, username + "@example.com", username, roles);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.persistance.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_ms FROM replication_status";
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replication_status (lag_ms BIGINT)");
+        new JdbcTemplate(replica).execute("INSERT INTO replication_status VALUES (0)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should send read-only work to the replica and writes to the primary")
+    void getConnection_ShouldRouteByReadOnlyFlag() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), LAG_QUERY, 1000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+
+        // Act & Assert
+        assertThat(serverName(jdbcTemplate)).isEqualTo("primary");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(serverName(jdbcTemplate)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should fall back to the primary when the replica lags too far behind")
+    void getConnection_WhenReplicaLags_ShouldUsePrimary() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), LAG_QUERY, 1000);
+        new JdbcTemplate(replica).update("UPDATE replication_status SET lag_ms = 60000");
+        routing.refreshHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertThat(routing.healthyReplicaCount()).isZero();
+        assertThat(serverName(new JdbcTemplate(routing))).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replication_status SET lag_ms = 10");
+        routing.refreshHealth();
+        assertThat(serverName(new JdbcTemplate(routing))).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should fail over to the primary when a replica connection fails")
+    void getConnection_WhenReplicaDown_ShouldFailOver() throws SQLException {
+        // Arrange
+        DataSource brokenReplica = mock(DataSource.class);
+        when(brokenReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(brokenReplica), LAG_QUERY, 1000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertThat(serverName(new JdbcTemplate(routing))).isEqualTo("primary");
+        assertThat(routing.healthyReplicaCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should route connections opened with explicit credentials too")
+    void getConnectionWithCredentials_ShouldRouteByReadOnlyFlag() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), LAG_QUERY, 1000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        try (Connection connection = routing.getConnection("sa", "")) {
+            // Assert
+            assertThat(serverName(new JdbcTemplate(new SingleConnectionDataSource(connection, true)))).isEqualTo("replica");
+        }
+    }
+
+    private static String serverName(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO server VALUES (?)", name);
+        return dataSource;
+    }
+}
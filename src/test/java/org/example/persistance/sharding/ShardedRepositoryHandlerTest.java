@@ -0,0 +1,259 @@
+package org.example.persistance.sharding;
+
+import org.example.persistance.UserIdentityView;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedRepositoryHandler Tests")
+class ShardedRepositoryHandlerTest {
+
+    private static final int SHARDS = 3;
+
+    @Mock
+    private UserRepository target;
+
+    private final UserShardResolver shardResolver = new UserShardResolver(SHARDS);
+    private ExecutorService executor;
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(SHARDS);
+        repository = ShardedRepositoryHandler.wrap(UserRepository.class, target, shardResolver, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should run single-user operations on the user's shard only")
+    void findById_ShouldHitOneShard() {
+        // Arrange
+        String userId = "550e8400-e29b-41d4-a716-446655440000";
+        List<Integer> shardsSeen = new ArrayList<>();
+        when(target.findById(userId)).thenAnswer(invocation -> {
+            shardsSeen.add(ShardContext.current());
+            return Optional.empty();
+        });
+
+        // Act
+        repository.findById(userId);
+
+        // Assert
+        assertThat(shardsSeen).containsExactly(shardResolver.shardFor(userId));
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should merge sorted shard results into one ordered list")
+    void findAll_ShouldScatterAndMerge() {
+        // Arrange
+        Map<Integer, List<UserEntity>> shardRows = Map.of(
+                0, List.of(user("a"), user("d")),
+                1, List.of(user("b"), user("e")),
+                2, List.of(user("c")));
+        when(target.findAll(any(Sort.class))).thenAnswer(invocation -> shardRows.get(ShardContext.current()));
+
+        // Act
+        List<UserEntity> users = repository.findAll();
+
+        // Assert
+        assertThat(users).extracting(UserEntity::getId).containsExactly("a", "b", "c", "d", "e");
+        verify(target, times(SHARDS)).findAll(Sort.by("id"));
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should apply the limit to the merged result")
+    void findByIdGreaterThan_WithLimit_ShouldLimitAfterMerge() {
+        // Arrange
+        Map<Integer, List<UserIdentityView>> shardRows = Map.of(
+                0, List.of(identity("a", "a"), identity("d", "d")),
+                1, List.of(identity("b", "b"), identity("e", "e")),
+                2, List.of(identity("c", "c"), identity("f", "f")));
+        when(target.findByIdGreaterThanOrderByIdAsc("", Limit.of(2)))
+                .thenAnswer(invocation -> shardRows.get(ShardContext.current()));
+
+        // Act
+        List<UserIdentityView> page = repository.findByIdGreaterThanOrderByIdAsc("", Limit.of(2));
+
+        // Assert
+        assertThat(page).extracting(UserIdentityView::getId).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should merge usernames in code point order, like the ucs_basic query")
+    void findByUsernameGreaterThan_ShouldMergeInCodePointOrder() {
+        // Arrange
+        Map<Integer, List<UserIdentityView>> shardRows = Map.of(
+                0, List.of(identity("1", "Zed"), identity("2", "alice")),
+                1, List.of(identity("3", "Bob"), identity("4", "bob")),
+                2, List.of(identity("5", "\u00e9mile")));
+        when(target.findByUsernameGreaterThanOrderByUsernameAsc("", Limit.of(10)))
+                .thenAnswer(invocation -> shardRows.get(ShardContext.current()));
+
+        // Act
+        List<UserIdentityView> users = repository.findByUsernameGreaterThanOrderByUsernameAsc("", Limit.of(10));
+
+        // Assert
+        assertThat(users).extracting(UserIdentityView::getUsername)
+                .containsExactly("Bob", "Zed", "alice", "bob", "\u00e9mile");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should cut a page out of the merged shard pages and sum their totals")
+    void findAllPageable_ShouldMergeAndPage() {
+        // Arrange
+        Map<Integer, List<UserEntity>> shardRows = Map.of(
+                0, List.of(user("a"), user("d")),
+                1, List.of(user("b"), user("e")),
+                2, List.of(user("c"), user("f")));
+        when(target.findAll(any(Pageable.class))).thenAnswer(invocation ->
+                new PageImpl<>(shardRows.get(ShardContext.current()), invocation.getArgument(0), 10));
+
+        // Act
+        Page<UserEntity> page = repository.findAll(PageRequest.of(1, 2));
+
+        // Assert
+        assertThat(page.getContent()).extracting(UserEntity::getId).containsExactly("c", "d");
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        verify(target, times(SHARDS)).findAll(PageRequest.of(0, 4, Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should refuse a repository whose results can't be merged across shards")
+    void wrap_WithUnmergeableMethods_ShouldFail() {
+        assertThatThrownBy(() -> ShardedRepositoryHandler.wrap(CollatedOrderRepository.class,
+                mock(CollatedOrderRepository.class), shardResolver, executor))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("findAllByOrderByEmailAsc");
+        assertThatThrownBy(() -> ShardedRepositoryHandler.wrap(StreamingRepository.class,
+                mock(StreamingRepository.class), shardResolver, executor))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("streamAllBy");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should find a user by email on whichever shard holds it")
+    void existsByEmail_ShouldAskEveryShard() {
+        // Arrange
+        when(target.existsByEmail("test@example.com")).thenAnswer(invocation -> ShardContext.current() == 2);
+
+        // Act & Assert
+        assertThat(repository.existsByEmail("test@example.com")).isTrue();
+        verify(target, times(SHARDS)).existsByEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should stream a k-way merge of sorted inputs")
+    void mergingIterator_ShouldInterleaveInOrder() {
+        MergingIterator<Integer> merged = new MergingIterator<>(List.of(
+                List.of(1, 4, 7).iterator(),
+                List.<Integer>of().iterator(),
+                List.of(2, 3, 9).iterator()), Integer::compare);
+
+        List<Integer> values = new ArrayList<>();
+        merged.forEachRemaining(values::add);
+
+        assertThat(values).containsExactly(1, 2, 3, 4, 7, 9);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should route connections to separate embedded databases per shard")
+    void shardRoutingDataSource_ShouldKeepRowsOnTheirShard() throws Exception {
+        // Arrange
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            DataSource shard = new DriverManagerDataSource("jdbc:h2:mem:shard" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            new JdbcTemplate(shard).execute("CREATE TABLE users (id VARCHAR(64) PRIMARY KEY)");
+            shards.add(shard);
+        }
+        JdbcTemplate routed = new JdbcTemplate(new ShardRoutingDataSource(shards));
+        List<String> userIds = List.of("user-1", "user-2", "user-3", "user-4", "user-5", "user-6");
+
+        // Act
+        for (String userId : userIds) {
+            ShardContext.callOn(shardResolver.shardFor(userId),
+                    () -> routed.update("INSERT INTO users (id) VALUES (?)", userId));
+        }
+
+        // Assert
+        int total = 0;
+        for (int i = 0; i < SHARDS; i++) {
+            List<String> stored = new JdbcTemplate(shards.get(i)).queryForList("SELECT id FROM users", String.class);
+            int shard = i;
+            assertThat(stored).allMatch(userId -> shardResolver.shardFor(userId) == shard);
+            total += stored.size();
+        }
+        assertThat(total).isEqualTo(userIds.size());
+        shards.forEach(shard -> new JdbcTemplate(shard).execute("SHUTDOWN"));
+    }
+
+    interface CollatedOrderRepository extends Repository<UserEntity, String> {
+        List<UserEntity> findAllByOrderByEmailAsc();
+    }
+
+    interface StreamingRepository extends Repository<UserEntity, String> {
+        Stream<UserEntity> streamAllBy();
+    }
+
+    private static UserIdentityView identity(String id, String username) {
+        return new UserIdentityView() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return username + "@test.com";
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+
+    private static UserEntity user(String id) {
+        return UserEntity.builder()
+                .id(id)
+                .email(id + "@test.com")
+                .username(id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.persistance.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UserShardResolver Unit Tests")
+class UserShardResolverTest {
+
+    private final UserShardResolver resolver = new UserShardResolver(4);
+
+    @Test
+    @DisplayName("Happy Flow: Should route a mixed-case id to the shard of its lowercase form")
+    void shardFor_WithUppercaseId_ShouldMatchLowercase() {
+        IntStream.range(0, 200).mapToObj(i -> UUID.randomUUID().toString()).forEach(userId -> {
+            String upper = userId.toUpperCase(Locale.ROOT);
+            String mixed = userId.substring(0, 18).toUpperCase(Locale.ROOT) + userId.substring(18);
+
+            assertThat(resolver.shardFor(upper)).isEqualTo(resolver.shardFor(userId));
+            assertThat(resolver.shardFor(mixed)).isEqualTo(resolver.shardFor(userId));
+        });
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep routing ids that aren't uuids by their raw form")
+    void shardFor_WithNonUuidId_ShouldStillResolve() {
+        assertThat(resolver.shardFor("not-a-uuid")).isBetween(0, 3);
+        assertThat(new UserShardResolver(1).shardFor("not-a-uuid")).isZero();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should require at least one shard")
+    void constructor_WithoutShards_ShouldThrow() {
+        assertThatThrownBy(() -> new UserShardResolver(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
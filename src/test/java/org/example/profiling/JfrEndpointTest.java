@@ -0,0 +1,105 @@
+package org.example.profiling;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JfrEndpoint Unit Tests")
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint = new JfrEndpoint(Duration.ofSeconds(1), Duration.ofSeconds(5),
+            Duration.ofMillis(10), 2, 5);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should record for the given time, then summarize and serve the file")
+    void start_ShouldRecordAndSummarize() throws Exception {
+        // Arrange
+        WebEndpointResponse<JfrEndpoint.RecordingStatus> started = endpoint.startFor(1L);
+        String id = started.getBody().id();
+
+        // Act
+        List<String> garbage = new ArrayList<>();
+        long until = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        while (System.nanoTime() < until) {
+            garbage.add("allocation-" + garbage.size());
+            if (garbage.size() > 10_000) {
+                garbage.clear();
+            }
+        }
+        JfrEndpoint.RecordingStatus status = awaitFinished(id);
+
+        // Assert
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(status.sizeBytes()).isPositive();
+        assertThat(status.summary()).isNotNull();
+        assertThat(status.summary().hotMethods()).isNotEmpty().hasSizeLessThanOrEqualTo(5)
+                .allSatisfy(method -> assertThat(method.method()).startsWith("org.example."));
+        WebEndpointResponse<Resource> download = endpoint.recording(id);
+        assertThat(download.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(download.getBody().contentLength()).isEqualTo(status.sizeBytes());
+        assertThat(RecordingFile.readAllEvents(download.getBody().getFile().toPath()))
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                        "jdk.JVMInformation", "jdk.SystemProcess");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should record for the default duration when none is given")
+    void start_WithoutDuration_ShouldUseDefault() {
+        WebEndpointResponse<JfrEndpoint.RecordingStatus> started = endpoint.start();
+
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody().durationSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should refuse a second recording while one is running")
+    void start_WhileRunning_ShouldConflict() {
+        endpoint.startFor(5L);
+
+        WebEndpointResponse<JfrEndpoint.RecordingStatus> second = endpoint.startFor(1L);
+
+        assertThat(second.getStatus()).isEqualTo(409);
+        assertThat(endpoint.recordings()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should reject durations above the maximum")
+    void start_TooLong_ShouldBeBadRequest() {
+        assertThat(endpoint.startFor(60L).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+        assertThat(endpoint.recordings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should return not found for an unknown recording")
+    void recording_Unknown_ShouldBeNotFound() {
+        assertThat(endpoint.recording("42").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private JfrEndpoint.RecordingStatus awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            for (JfrEndpoint.RecordingStatus status : endpoint.recordings()) {
+                if (status.id().equals(id) && status.summary() != null) {
+                    return status;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Recording " + id + " did not finish");
+    }
+}
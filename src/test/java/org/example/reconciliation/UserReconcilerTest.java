@@ -0,0 +1,272 @@
+package org.example.reconciliation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.business.UserService;
+import org.example.persistance.UserDeletionRepository;
+import org.example.persistance.UserIdentityView;
+import org.example.persistance.UserRepository;
+import org.example.persistance.entity.UserDeletionEntity;
+import org.example.persistance.sharding.ShardContext;
+import org.example.persistance.sharding.ShardedRepositoryHandler;
+import org.example.persistance.sharding.UserShardResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserReconciler Unit Tests")
+class UserReconcilerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+
+    @Mock
+    private UserService userService;
+
+    private final InMemoryKeycloak keycloak = new InMemoryKeycloak();
+    private final TreeMap<String, String> localUsers = new TreeMap<>();
+    private final Set<String> tombstones = ConcurrentHashMap.newKeySet();
+    private UserReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        // Page size 2 so both sides are read over several pages
+        reconciler = new UserReconciler(keycloak, userRepository, userDeletionRepository, userService,
+                new SimpleMeterRegistry(), true, 2, 2, 2, 1000, 30);
+        lenient().when(userRepository.findByUsernameGreaterThanOrderByUsernameAsc(anyString(), any()))
+                .thenAnswer(invocation -> localPage(invocation.getArgument(0), invocation.getArgument(1)));
+        lenient().when(userRepository.existsById(anyString())).thenAnswer(invocation -> localUsers.containsValue(invocation.getArgument(0)));
+        lenient().when(userDeletionRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<UserDeletionEntity> found = new ArrayList<>();
+            for (String userId : invocation.<Collection<String>>getArgument(0)) {
+                if (tombstones.contains(userId)) {
+                    found.add(new UserDeletionEntity(userId, LocalDateTime.now()));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should finish lost deletions in Keycloak and drop users deleted there")
+    void reconcile_ShouldFixBothDirections() {
+        // Arrange
+        inBoth("id-alice", "alice");
+        inBoth("id-bob", "bob");
+        keycloak.add("id-carol", "carol");
+        tombstones.add("id-carol");
+        keycloak.add("id-dave", "dave");
+        inBoth("id-erin", "erin");
+        localUsers.put("frank", "id-frank");
+        when(userService.deleteLocalUser("id-frank")).thenReturn(true);
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile();
+
+        // Assert
+        assertThat(keycloak.deleted).containsExactly("id-carol");
+        verify(userDeletionRepository).deleteById("id-carol");
+        verify(userService).deleteLocalUser("id-frank");
+        verifyNoMoreInteractions(userService);
+        assertThat(report.keycloakUsers()).isEqualTo(5);
+        assertThat(report.localUsers()).isEqualTo(4);
+        assertThat(report.deletedInKeycloak()).isEqualTo(1);
+        assertThat(report.deletedLocally()).isEqualTo(1);
+        assertThat(report.missingLocally()).isEqualTo(1);
+        assertThat(report.failed()).isZero();
+        verify(userDeletionRepository).deleteByDeletedAtBefore(any());
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should read, drop and purge tombstones on the shard of each user")
+    void reconcile_WhenSharded_ShouldRouteTombstonesPerShard() {
+        // Arrange
+        UserShardResolver shardResolver = new UserShardResolver(2);
+        String carol = idOnShard(shardResolver, 0);
+        String dave = idOnShard(shardResolver, 1);
+        keycloak.add(carol, "carol");
+        keycloak.add(dave, "dave");
+        tombstones.add(carol);
+        tombstones.add(dave);
+        Map<String, Integer> tombstoneShards = Map.of(carol, 0, dave, 1);
+
+        List<Integer> purgedShards = Collections.synchronizedList(new ArrayList<>());
+        Map<String, Integer> droppedOn = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            List<UserDeletionEntity> found = new ArrayList<>();
+            for (String userId : invocation.<Collection<String>>getArgument(0)) {
+                // A shard only holds the tombstones of its own users
+                if (tombstoneShards.get(userId).equals(ShardContext.current())) {
+                    found.add(new UserDeletionEntity(userId, LocalDateTime.now()));
+                }
+            }
+            return found;
+        }).when(userDeletionRepository).findAllById(any());
+        doAnswer(invocation -> droppedOn.put(invocation.getArgument(0), ShardContext.current()))
+                .when(userDeletionRepository).deleteById(anyString());
+        when(userDeletionRepository.deleteByDeletedAtBefore(any())).thenAnswer(invocation -> {
+            purgedShards.add(ShardContext.current());
+            return 1;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            UserReconciler sharded = new UserReconciler(keycloak, userRepository,
+                    ShardedRepositoryHandler.wrap(UserDeletionRepository.class, userDeletionRepository, shardResolver, executor),
+                    userService, new SimpleMeterRegistry(), true, 2, 2, 2, 1000, 30);
+
+            // Act
+            ReconciliationReport report = sharded.reconcile();
+
+            // Assert
+            assertThat(keycloak.deleted).containsExactlyInAnyOrder(carol, dave);
+            assertThat(droppedOn).containsExactlyInAnyOrderEntriesOf(tombstoneShards);
+            assertThat(purgedShards).containsExactlyInAnyOrder(0, 1);
+            assertThat(report.deletedInKeycloak()).isEqualTo(2);
+            assertThat(report.missingLocally()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep a local user that Keycloak still has under a differently sorted name")
+    void reconcile_WhenMergeMismatchIsFalse_ShouldNotDelete() {
+        // Arrange
+        keycloak.add("id-anna", "anna");
+        localUsers.put("Anna_", "id-anna-local");
+        keycloak.add("id-anna-local", "zz-renamed");
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile();
+
+        // Assert
+        verify(userService, never()).deleteLocalUser(anyString());
+        assertThat(keycloak.deleted).isEmpty();
+        assertThat(report.deletedLocally()).isZero();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not delete a re-registered user in Keycloak")
+    void reconcile_WhenTombstonedUserIsBack_ShouldOnlyDropTombstone() {
+        // Arrange
+        keycloak.add("id-carol", "carol");
+        tombstones.add("id-carol");
+        localUsers.put("carol-new", "id-carol");
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        assertThat(keycloak.deleted).isEmpty();
+        verify(userDeletionRepository).deleteById("id-carol");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should count failed fixes and carry on")
+    void reconcile_WhenFixFails_ShouldCountFailure() {
+        // Arrange
+        localUsers.put("frank", "id-frank");
+        localUsers.put("grace", "id-grace");
+        when(userService.deleteLocalUser("id-frank")).thenThrow(new RuntimeException("Database unavailable"));
+        when(userService.deleteLocalUser("id-grace")).thenReturn(true);
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile();
+
+        // Assert
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.deletedLocally()).isEqualTo(1);
+    }
+
+    private void inBoth(String id, String username) {
+        keycloak.add(id, username);
+        localUsers.put(username, id);
+    }
+
+    private List<UserIdentityView> localPage(String after, Limit limit) {
+        return localUsers.tailMap(after, false).entrySet().stream()
+                .limit(limit.max())
+                .map(entry -> identity(entry.getValue(), entry.getKey()))
+                .toList();
+    }
+
+    private static String idOnShard(UserShardResolver shardResolver, int shard) {
+        for (int i = 0; ; i++) {
+            String userId = "00000000-0000-4000-8000-" + String.format("%012d", i);
+            if (shardResolver.shardFor(userId) == shard) {
+                return userId;
+            }
+        }
+    }
+
+    private static UserIdentityView identity(String id, String username) {
+        return new UserIdentityView() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return username + "@example.com";
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+
+    /**
+     * Stand-in for Keycloak's admin API: users listed by username with offset paging.
+     */
+    private static final class InMemoryKeycloak implements KeycloakUserSource {
+        private final Map<String, KeycloakUser> byUsername = new TreeMap<>();
+        private final List<String> deleted = new ArrayList<>();
+
+        private synchronized void add(String id, String username) {
+            byUsername.put(username, new KeycloakUser(id, username));
+        }
+
+        @Override
+        public synchronized List<KeycloakUser> page(int first, int max) {
+            return byUsername.values().stream().skip(first).limit(max).toList();
+        }
+
+        @Override
+        public synchronized boolean exists(String userId) {
+            return byUsername.values().stream().anyMatch(user -> user.id().equals(userId));
+        }
+
+        @Override
+        public synchronized void delete(String userId) {
+            byUsername.values().removeIf(user -> user.id().equals(userId));
+            deleted.add(userId);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.timing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ServerTimingFilter Tests")
+class ServerTimingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ServerTimingFilter(meterRegistry, false);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should report each phase before the body is written")
+    void doFilter_WithBody_ShouldAddServerTimingHeader() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/register");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            RequestTimings.time("db", () -> "row");
+            RequestTimings.time("db", () -> RequestTimings.time("db", () -> "nested"));
+            RequestTimings.time("amqp", () -> { });
+            res.getWriter().write("{}");
+        });
+
+        // Assert
+        assertThat(response.getHeader(ServerTimingFilter.HEADER))
+                .contains("db;dur=", "desc=\"2 calls\"", "amqp;dur=", "desc=\"1 call\"", "app;dur=", "total;dur=");
+        assertThat(meterRegistry.get("user_service.request.phase").tag("phase", "db").timer().count()).isEqualTo(1);
+        assertThat(RequestTimings.time("db", () -> "outside")).isEqualTo("outside");
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should still add the header to responses without a body")
+    void doFilter_WithoutBody_ShouldAddServerTimingHeader() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/users/account");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).startsWith("app;dur=").contains("total;dur=");
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should record a phase even when it fails")
+    void time_WhenWorkThrows_ShouldRecordAndRethrow() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/users/account");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            assertThatThrownBy(() -> RequestTimings.time("amqp", () -> {
+                throw new IllegalStateException("Broker down");
+            })).hasMessage("Broker down");
+            ((HttpServletResponse) res).sendError(500);
+        });
+
+        // Assert
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).contains("amqp;dur=");
+    }
+}
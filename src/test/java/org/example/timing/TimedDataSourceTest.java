@@ -0,0 +1,98 @@
+package org.example.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimedDataSource Tests")
+class TimedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private TimedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new TimedDataSource(target);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.clear();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should count the borrow, the flushed statement and the commit as db")
+    void transaction_ShouldTimeEveryRoundTrip() throws SQLException {
+        // Arrange
+        when(connection.prepareStatement("insert into users values (?)")).thenReturn(statement);
+        RequestTimings timings = RequestTimings.start();
+
+        // Act
+        try (Connection timed = dataSource.getConnection()) {
+            timed.setAutoCommit(false);
+            PreparedStatement insert = timed.prepareStatement("insert into users values (?)");
+            insert.setString(1, "user1");
+            insert.executeUpdate();
+            timed.commit();
+        }
+
+        // Assert
+        assertThat(timings.phases()).containsOnlyKeys("db");
+        assertThat(timings.phases().get("db").count()).isEqualTo(5);
+        verify(statement).setString(1, "user1");
+        verify(connection).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should count JDBC calls inside a timed repository call only once")
+    void nestedInRepositoryCall_ShouldNotDoubleCount() throws Exception {
+        // Arrange
+        RequestTimings timings = RequestTimings.start();
+
+        // Act
+        RequestTimings.timeChecked("db", () -> {
+            dataSource.getConnection().commit();
+            return null;
+        });
+
+        // Assert
+        assertThat(timings.phases().get("db").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep proxy identity and pass SQL errors through")
+    void connection_ShouldBehaveLikeTarget() throws SQLException {
+        // Arrange
+        doThrow(new SQLException("connection reset")).when(connection).rollback();
+
+        // Act
+        Connection timed = dataSource.getConnection();
+
+        // Assert
+        assertThat(timed).isEqualTo(timed).isNotEqualTo(connection);
+        assertThatThrownBy(timed::rollback).isInstanceOf(SQLException.class).hasMessage("connection reset");
+    }
+}